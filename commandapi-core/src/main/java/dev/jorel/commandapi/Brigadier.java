@@ -83,6 +83,7 @@ public final class Brigadier {
 	public static <CommandSender, Argument extends AbstractArgument<String, ?, ?, CommandSender>>
 	LiteralArgumentBuilder fromLiteralArgument(Literal<Argument> literalArgument) {
 		CommandAPIHandler<?, CommandSender, ?> handler = (CommandAPIHandler<?, CommandSender, ?>) CommandAPIHandler.getInstance();
+		handler.trackBrigadierNodeRequirements(literalArgument.instance().getArgumentPermission(), literalArgument.instance().getRequirements());
 		return handler.getLiteralArgumentBuilderArgument(literalArgument.getLiteral(), literalArgument.instance().getArgumentPermission(), literalArgument.instance().getRequirements());
 	}
 
@@ -144,6 +145,7 @@ public final class Brigadier {
 	 */
 	public static <Argument extends AbstractArgument<?, ?, Argument, ?>> RequiredArgumentBuilder fromArgument(List<Argument> args, Argument argument) {
 		CommandAPIHandler<Argument, ?, ?> handler = (CommandAPIHandler<Argument, ?, ?>) CommandAPIHandler.getInstance();
+		handler.trackBrigadierNodeRequirements(argument.getArgumentPermission(), argument.getRequirements());
 		return handler.getRequiredArgumentBuilderDynamic((Argument[]) args.toArray(AbstractArgument[]::new), argument);
 	}
 
@@ -155,6 +157,7 @@ public final class Brigadier {
 	 */
 	public static <Argument extends AbstractArgument<?, ?, Argument, ?>> RequiredArgumentBuilder fromArgument(Argument argument) {
 		CommandAPIHandler<Argument, ?, ?> handler = (CommandAPIHandler<Argument, ?, ?>) CommandAPIHandler.getInstance();
+		handler.trackBrigadierNodeRequirements(argument.getArgumentPermission(), argument.getRequirements());
 		return handler.getRequiredArgumentBuilderDynamic((Argument[]) new AbstractArgument[] { argument }, argument);
 	}
 
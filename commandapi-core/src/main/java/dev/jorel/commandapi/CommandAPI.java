@@ -7,6 +7,7 @@ import dev.jorel.commandapi.commandsenders.AbstractPlayer;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -206,14 +207,17 @@ public class CommandAPI {
 	/**
 	 * Reloads all the datapacks that are on the server. This should be used if
 	 * you change a datapack and want to reload a server. Execute this method after
-	 * running /minecraft:reload, NOT before.
+	 * running /minecraft:reload, NOT before. If datapacks are already being
+	 * reloaded, they are reloaded again once that reload has finished.
 	 */
 	public static void reloadDatapacks() {
-		CommandAPIHandler.getInstance().getPlatform().reloadDataPacks();
+		CommandAPIHandler.getInstance().getPlatform().requestDataPacksReload();
 	}
 
 	/**
 	 * Updates the requirements required for a given player to execute a command.
+	 * On Bukkit, updates requested during the same tick are combined and sent on
+	 * the next tick.
 	 *
 	 * @param player the player whose requirements should be updated
 	 */
@@ -223,6 +227,22 @@ public class CommandAPI {
 		platform.updateRequirements((AbstractPlayer<?>) platform.wrapCommandSender(player));
 	}
 
+	/**
+	 * Updates the requirements required for the given players to execute a
+	 * command. This should be used instead of calling
+	 * {@link #updateRequirements(Object)} for each player when many players
+	 * are updated at once.
+	 *
+	 * @param players the players whose requirements should be updated
+	 */
+	public static <CommandSender, Player extends CommandSender> void updateRequirements(Collection<? extends Player> players) {
+		@SuppressWarnings("unchecked")
+		CommandAPIPlatform<?, CommandSender, ?> platform = (CommandAPIPlatform<?, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
+		for (Player player : players) {
+			platform.updateRequirements((AbstractPlayer<?>) platform.wrapCommandSender(player));
+		}
+	}
+
 	// Produce WrapperCommandSyntaxException
 
 	/**
@@ -255,7 +275,7 @@ public class CommandAPI {
 	 * @param command the name of the command to unregister
 	 */
 	public static void unregister(String command) {
-		CommandAPIHandler.getInstance().getPlatform().unregister(command, false);
+		CommandAPIHandler.getInstance().unregister(command, false);
 	}
 
 	/**
@@ -270,7 +290,35 @@ public class CommandAPI {
 			getLogger().warning("Unexpected unregistering of /" + command
 				+ ", as server is loaded! Unregistering anyway, but this can lead to unstable results!");
 		}
-		CommandAPIHandler.getInstance().getPlatform().unregister(command, force);
+		CommandAPIHandler.getInstance().unregister(command, force);
+	}
+
+	/**
+	 * Replaces a command that has already been registered with a new definition.
+	 * Unlike unregistering and registering the command again, the command tree is
+	 * only resent to players whose visible command tree has changed, and those
+	 * resends are batched together.
+	 *
+	 * @param command       the name of the command to replace
+	 * @param newDefinition the new definition of the command, which must have the
+	 *                      same name as the command it replaces
+	 */
+	public static void reload(String command, AbstractCommandAPICommand<?, ?, ?> newDefinition) {
+		CommandAPIHandler.getInstance().reload(command, newDefinition.getName(), newDefinition.getAliases(), newDefinition::register);
+	}
+
+	/**
+	 * Replaces a command that has already been registered with a new definition.
+	 * Unlike unregistering and registering the command again, the command tree is
+	 * only resent to players whose visible command tree has changed, and those
+	 * resends are batched together.
+	 *
+	 * @param command       the name of the command to replace
+	 * @param newDefinition the new definition of the command, which must have the
+	 *                      same name as the command it replaces
+	 */
+	public static void reload(String command, AbstractCommandTree<?, ?, ?> newDefinition) {
+		CommandAPIHandler.getInstance().reload(command, newDefinition.getName(), newDefinition.getAliases(), newDefinition::register);
 	}
 
 	/**
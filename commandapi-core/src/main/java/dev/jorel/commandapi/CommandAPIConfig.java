@@ -21,6 +21,7 @@
 package dev.jorel.commandapi;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -41,6 +42,8 @@ public abstract class CommandAPIConfig<Impl extends CommandAPIConfig<Impl>> impl
 
 	List<String> skipSenderProxy = new ArrayList<>();
 
+	Duration suggestionsBranchCacheExpiry = Duration.ofSeconds(1);
+
 	// NBT API
 	Class<?> nbtContainerClass = null;
 	Function<Object, ?> nbtContainerConstructor = null;
@@ -125,6 +128,20 @@ public abstract class CommandAPIConfig<Impl extends CommandAPIConfig<Impl>> impl
 		return instance();
 	}
 
+	/**
+	 * Sets how long the CommandAPI reuses the results of dynamic suggestions when it
+	 * checks the previous arguments of a {@link dev.jorel.commandapi.arguments.SuggestionsBranch}.
+	 * These are checked again for every keystroke, so the results are reused for a
+	 * short time instead of building the suggestions again. Defaults to one second.
+	 *
+	 * @param expiry how long the results of dynamic suggestions are reused for
+	 * @return this CommandAPIConfig
+	 */
+	public Impl suggestionsBranchCacheExpiry(Duration expiry) {
+		this.suggestionsBranchCacheExpiry = expiry;
+		return instance();
+	}
+
 	/**
 	 * Initializes the CommandAPI's implementation of an NBT API.
 	 *
@@ -26,11 +26,14 @@ import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,6 +43,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
@@ -50,10 +54,14 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
 
 import dev.jorel.commandapi.arguments.AbstractArgument;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.CacheableArgument;
 import dev.jorel.commandapi.arguments.CustomProvidedArgument;
 import dev.jorel.commandapi.arguments.Literal;
 import dev.jorel.commandapi.arguments.MultiLiteral;
@@ -113,10 +121,20 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 	// but this IS a generic class caching system and we don't want derpy memory leaks
 	private static final Map<ClassCache, Field> FIELDS = new HashMap<>();
 
+	private static final Predicate<?> NO_REQUIREMENTS = s -> true;
+
 	final CommandAPIPlatform<Argument, CommandSender, Source> platform;
 	final TreeMap<String, CommandPermission> registeredPermissions = new TreeMap<>();
 	final List<RegisteredCommand> registeredCommands; // Keep track of what has been registered for type checking
 	final Map<List<String>, Previewable<?, ?>> previewableArguments; // Arguments with previewable chat
+	final Map<String, Set<String>> commandPermissions = new HashMap<>(); // Permissions checked by each registered command name and alias
+	final Set<String> customRequirementCommands = new HashSet<>(); // Names and aliases of commands that use a requirement predicate
+
+	// Nodes built through the Brigadier API aren't tied to a registered command, so
+	// what their requirements depend on is remembered until the server restarts
+	final Set<String> brigadierNodePermissions = new HashSet<>();
+	boolean brigadierNodesHaveCustomRequirements = false;
+	final ParseResultCache parseResultCache = new ParseResultCache(); // Values parsed by cacheable arguments
 
 	private static CommandAPIHandler<?, ?, ?> instance;
 
@@ -168,6 +186,13 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 		return this.platform;
 	}
 
+	/**
+	 * @return the cache of values parsed by {@link CacheableArgument}s
+	 */
+	public ParseResultCache getParseResultCache() {
+		return this.parseResultCache;
+	}
+
 	/**
 	 * Generates a command to be registered by the CommandAPI.
 	 * 
@@ -203,9 +228,13 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 			if (converted) {
 				int resultValue = 0;
 
-				// Return a String[] of arguments for converted commands
-				String[] argsAndCmd = cmdCtx.getRange().get(cmdCtx.getInput()).split(" ");
-				String[] result = new String[argsAndCmd.length - 1];
+				// Return a String[] of arguments for converted commands. Only the text
+				// after the command name is split, so the arguments don't need copying
+				String commandInput = cmdCtx.getRange().get(cmdCtx.getInput());
+				int argsStart = commandInput.indexOf(' ') + 1;
+				String[] result = argsStart == 0 || argsStart == commandInput.length()
+					? new String[0]
+					: commandInput.substring(argsStart).split(" ");
 				ExecutionInfo<CommandSender, AbstractCommandSender<? extends CommandSender>> convertedExecutionInfo = new ExecutionInfo<>() {
 					@Override
 					public CommandSender sender() {
@@ -223,8 +252,6 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 					}
 				};
 
-				System.arraycopy(argsAndCmd, 1, result, 0, argsAndCmd.length - 1);
-
 				// As stupid as it sounds, it's more performant and safer to use
 				// a List<?>[] instead of a List<List<?>>, due to NPEs and AIOOBEs.
 				@SuppressWarnings("unchecked")
@@ -293,6 +320,9 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 	 */
 	Object parseArgument(CommandContext<Source> cmdCtx, String key, Argument value, CommandArguments previousArgs) throws CommandSyntaxException {
 		if (value.isListed()) {
+			if (value instanceof CacheableArgument<?> cacheable) {
+				return parseResultCache.getOrParse(cacheable, getRawArgumentInput(cmdCtx, key), () -> value.parseArgument(cmdCtx, key, previousArgs));
+			}
 			return value.parseArgument(cmdCtx, key, previousArgs);
 		} else {
 			return null;
@@ -343,6 +373,59 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 				requirements);
 	}
 
+	/**
+	 * Records what the requirement of a node built through the {@link Brigadier} API
+	 * depends on. If every node only depends on permissions, two senders with the
+	 * same permissions can use the same nodes.
+	 *
+	 * @param permission   the permission required to use the node
+	 * @param requirements the requirements required to use the node
+	 */
+	void trackBrigadierNodeRequirements(CommandPermission permission, Predicate<?> requirements) {
+		permission.getPermission().ifPresent(brigadierNodePermissions::add);
+		brigadierNodesHaveCustomRequirements |= hasRequirements(requirements);
+	}
+
+	/**
+	 * @return true if any registered command, or any of its arguments, uses a
+	 * requirement predicate
+	 */
+	boolean hasCustomRequirements() {
+		return brigadierNodesHaveCustomRequirements || !customRequirementCommands.isEmpty();
+	}
+
+	/**
+	 * @return every permission checked by the nodes of registered commands
+	 */
+	Set<String> getRequirementPermissions() {
+		Set<String> permissions = new HashSet<>(brigadierNodePermissions);
+		commandPermissions.values().forEach(permissions::addAll);
+		return permissions;
+	}
+
+	/**
+	 * Returns the requirement used by commands and arguments that don't declare
+	 * one. This predicate always passes.
+	 *
+	 * @param <CommandSender> the command sender type
+	 * @return a predicate that always returns true
+	 */
+	@SuppressWarnings("unchecked")
+	public static <CommandSender> Predicate<CommandSender> noRequirements() {
+		return (Predicate<CommandSender>) NO_REQUIREMENTS;
+	}
+
+	/**
+	 * Checks if a requirement was declared by a user, rather than being the
+	 * default requirement returned by {@link #noRequirements()}
+	 *
+	 * @param requirements the requirements to check
+	 * @return true if the requirements may fail for some senders
+	 */
+	public static boolean hasRequirements(Predicate<?> requirements) {
+		return requirements != NO_REQUIREMENTS;
+	}
+
 	/**
 	 * Checks if a sender has a given permission.
 	 * 
@@ -593,6 +676,23 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 		// Handle previewable arguments
 		handlePreviewableArguments(commandName, args, aliases);
 
+		// Remember what decides whether senders can see this command
+		Set<String> permissions = new HashSet<>();
+		permission.getPermission().ifPresent(permissions::add);
+		boolean customRequirements = hasRequirements(requirements);
+		for (Argument arg : args) {
+			arg.getArgumentPermission().getPermission().ifPresent(permissions::add);
+			customRequirements |= hasRequirements(arg.getRequirements());
+		}
+		List<String> names = new ArrayList<>(List.of(aliases));
+		names.add(commandName);
+		for (String name : names) {
+			commandPermissions.computeIfAbsent(name, key -> new HashSet<>()).addAll(permissions);
+			if (customRequirements) {
+				customRequirementCommands.add(name);
+			}
+		}
+
 		platform.preCommandRegistration(commandName);
 
 		CommandAPI.logInfo("Registering command /" + commandName + " " + humanReadableCommandArgSyntax);
@@ -657,7 +757,222 @@ public class CommandAPIHandler<Argument extends AbstractArgument<?, ?, Argument,
 
 		platform.postCommandRegistration(resultantNode, aliasNodes);
 	}
-	
+
+	/**
+	 * Unregisters a command from the platform and removes everything the
+	 * CommandAPI has stored about it (registered commands, permissions and
+	 * previewable arguments), so later registrations don't have to check
+	 * against commands that no longer exist.
+	 *
+	 * @param commandName the name of the command to unregister
+	 * @param force       whether to unregister all namespaced instances of the
+	 *                    command as well
+	 */
+	void unregister(String commandName, boolean force) {
+		platform.unregister(commandName, force);
+
+		int removedCommands = 0;
+		for (Iterator<RegisteredCommand> iterator = registeredCommands.iterator(); iterator.hasNext();) {
+			if (iterator.next().commandName().equals(commandName)) {
+				iterator.remove();
+				removedCommands++;
+			}
+		}
+
+		int removedPermissions = registeredPermissions.remove(commandName.toLowerCase()) == null ? 0 : 1;
+		commandPermissions.remove(commandName);
+		customRequirementCommands.remove(commandName);
+
+		int removedPreviewables = 0;
+		for (Iterator<List<String>> iterator = previewableArguments.keySet().iterator(); iterator.hasNext();) {
+			if (iterator.next().get(0).equals(commandName)) {
+				iterator.remove();
+				removedPreviewables++;
+			}
+		}
+
+		if (CommandAPI.getConfiguration().hasVerboseOutput()) {
+			CommandAPI.logInfo("Removed %d registered command(s), %d permission(s) and %d previewable argument(s) for /%s"
+				.formatted(removedCommands, removedPermissions, removedPreviewables, commandName));
+		}
+	}
+
+	/**
+	 * Replaces a registered command with a new definition. The old command nodes
+	 * are swapped out for the new ones, and the command tree is only resent to
+	 * players whose visible command tree has actually changed.
+	 *
+	 * @param commandName the name of the command to replace
+	 * @param newName     the name of the new definition of the command
+	 * @param newAliases  the aliases of the new definition of the command
+	 * @param register    a runnable which registers the new definition of the command
+	 */
+	void reload(String commandName, String newName, String[] newAliases, Runnable register) {
+		// A definition with a different name would be registered alongside the old
+		// command rather than replacing it
+		if (!commandName.equals(newName)) {
+			throw new IllegalArgumentException("Cannot reload /" + commandName + " with a definition of /" + newName);
+		}
+
+		RootCommandNode<Source> root = platform.getBrigadierDispatcher().getRoot();
+
+		// Collect every name that this command is (or will be) registered under
+		Set<String> names = new LinkedHashSet<>();
+		names.add(commandName);
+		for (RegisteredCommand registeredCommand : registeredCommands) {
+			if (registeredCommand.commandName().equals(commandName)) {
+				names.addAll(Arrays.asList(registeredCommand.aliases()));
+			}
+		}
+		names.addAll(Arrays.asList(newAliases));
+
+		// Keep hold of the previous state in case the new definition fails to register
+		List<RegisteredCommand> previousCommands = new ArrayList<>(registeredCommands);
+		Map<String, CommandPermission> previousPermissions = new TreeMap<>(registeredPermissions);
+		Map<List<String>, Previewable<?, ?>> previousPreviewables = new HashMap<>(previewableArguments);
+		Map<String, Set<String>> previousCommandPermissions = new HashMap<>(commandPermissions);
+		Set<String> previousCustomRequirementCommands = new HashSet<>(customRequirementCommands);
+
+		Map<String, CommandNode<Source>> oldNodes = new HashMap<>();
+		for (String name : names) {
+			oldNodes.put(name, root.getChild(name));
+			unregister(name, false);
+		}
+
+		try {
+			register.run();
+		} catch (RuntimeException e) {
+			// The new definition is invalid, so we put the old command back before
+			// passing the exception on
+			restoreCommand(root, names, oldNodes, previousCommands, previousPermissions, previousPreviewables, previousCommandPermissions,
+				previousCustomRequirementCommands);
+			throw e;
+		}
+
+		if (root.getChild(commandName) == null) {
+			// The new definition didn't register (e.g. because of a command conflict), so we
+			// put the old command back in its place
+			CommandAPI.logError("Failed to reload /" + commandName + ", the previous definition will be kept");
+			restoreCommand(root, names, oldNodes, previousCommands, previousPermissions, previousPreviewables, previousCommandPermissions,
+				previousCustomRequirementCommands);
+			return;
+		}
+
+		Map<String, CommandNode<Source>> newNodes = new HashMap<>();
+		for (String name : names) {
+			newNodes.put(name, root.getChild(name));
+		}
+
+		platform.resendCommandTree(source -> {
+			for (String name : names) {
+				if (visibleTreeDiffers(oldNodes.get(name), newNodes.get(name), source)) {
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
+	private void restoreCommand(RootCommandNode<Source> root, Set<String> names, Map<String, CommandNode<Source>> oldNodes,
+			List<RegisteredCommand> previousCommands, Map<String, CommandPermission> previousPermissions,
+			Map<List<String>, Previewable<?, ?>> previousPreviewables, Map<String, Set<String>> previousCommandPermissions,
+			Set<String> previousCustomRequirementCommands) {
+		for (String name : names) {
+			// Removes whatever part of the new definition managed to register
+			platform.unregister(name, false);
+			if (oldNodes.get(name) != null) {
+				root.addChild(oldNodes.get(name));
+			}
+		}
+		registeredCommands.clear();
+		registeredCommands.addAll(previousCommands);
+		registeredPermissions.clear();
+		registeredPermissions.putAll(previousPermissions);
+		previewableArguments.clear();
+		previewableArguments.putAll(previousPreviewables);
+		commandPermissions.clear();
+		commandPermissions.putAll(previousCommandPermissions);
+		customRequirementCommands.clear();
+		customRequirementCommands.addAll(previousCustomRequirementCommands);
+	}
+
+	/**
+	 * Checks whether the command tree that a source can see differs between two
+	 * versions of a command node. Nodes that the source can't use are invisible to
+	 * it, so changes to those nodes (or their children) are ignored.
+	 *
+	 * @param oldNode the old version of the node, or null if it didn't exist
+	 * @param newNode the new version of the node, or null if it doesn't exist
+	 * @param source  the source to check the visible command tree for
+	 * @return true if the source would see a different command tree
+	 */
+	private static <Source> boolean visibleTreeDiffers(CommandNode<Source> oldNode, CommandNode<Source> newNode, Source source) {
+		boolean oldVisible = oldNode != null && oldNode.canUse(source);
+		boolean newVisible = newNode != null && newNode.canUse(source);
+		if (!oldVisible || !newVisible) {
+			return oldVisible != newVisible;
+		}
+		if (!sameNodeShape(oldNode, newNode)) {
+			return true;
+		}
+
+		// Every visible old child must have an identical visible new child, and
+		// there mustn't be any extra visible new children
+		int oldVisibleChildren = 0;
+		for (CommandNode<Source> oldChild : oldNode.getChildren()) {
+			if (oldChild.canUse(source)) {
+				oldVisibleChildren++;
+				if (visibleTreeDiffers(oldChild, newNode.getChild(oldChild.getName()), source)) {
+					return true;
+				}
+			}
+		}
+		int newVisibleChildren = 0;
+		for (CommandNode<Source> newChild : newNode.getChildren()) {
+			if (newChild.canUse(source)) {
+				newVisibleChildren++;
+			}
+		}
+		return oldVisibleChildren != newVisibleChildren;
+	}
+
+	// Compares the parts of a node (not including its children) that are sent to the client
+	private static boolean sameNodeShape(CommandNode<?> oldNode, CommandNode<?> newNode) {
+		if (oldNode.getClass() != newNode.getClass()
+			|| (oldNode.getCommand() == null) != (newNode.getCommand() == null)
+			|| (oldNode.getRedirect() == null) != (newNode.getRedirect() == null)
+			|| (oldNode.getRedirect() != null && !oldNode.getRedirect().getName().equals(newNode.getRedirect().getName()))) {
+			return false;
+		}
+		if (oldNode instanceof ArgumentCommandNode<?, ?> oldArgument && newNode instanceof ArgumentCommandNode<?, ?> newArgument) {
+			// We can't compare suggestion providers (they're usually lambdas), but the
+			// client only needs to know whether it has to ask the server for suggestions
+			return (oldArgument.getCustomSuggestions() == null) == (newArgument.getCustomSuggestions() == null)
+				&& sameArgumentType(oldArgument.getType(), newArgument.getType());
+		}
+		return true;
+	}
+
+	private static boolean sameArgumentType(ArgumentType<?> oldType, ArgumentType<?> newType) {
+		// Most platform argument types don't implement equals, but if they don't
+		// have any state then any two instances of them are the same
+		return oldType.equals(newType) || (oldType.getClass() == newType.getClass() && STATELESS_TYPES.get(oldType.getClass()));
+	}
+
+	private static final ClassValue<Boolean> STATELESS_TYPES = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	};
+
 	/**
 	 * Checks for duplicate argument node names and logs them as errors in the
 	 * console
@@ -13,6 +13,7 @@ import dev.jorel.commandapi.commandsenders.AbstractPlayer;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * @param <Argument> The implementation of AbstractArgument used for the platform
@@ -162,6 +163,15 @@ public interface CommandAPIPlatform<Argument extends AbstractArgument<?, ?, Argu
 	 */
 	public abstract void reloadDataPacks();
 
+	/**
+	 * Reloads the server's data packs to include CommandAPI commands, unless they
+	 * are already being reloaded. Platforms that reload data packs in the background
+	 * should reload them again once the current reload has finished instead.
+	 */
+	public default void requestDataPacksReload() {
+		reloadDataPacks();
+	}
+
 	/**
 	 * Updates the requirements required for a given player to execute a command.
 	 *
@@ -169,6 +179,15 @@ public interface CommandAPIPlatform<Argument extends AbstractArgument<?, ?, Argu
 	 */
 	public abstract void updateRequirements(AbstractPlayer<?> player);
 
+	/**
+	 * Resends the command tree to every player whose visible command tree has
+	 * changed. Resends requested during the same tick are sent together.
+	 *
+	 * @param hasChanged a predicate which returns true if the command tree visible
+	 *                   to a player (represented by their Brigadier source) has changed
+	 */
+	public abstract void resendCommandTree(Predicate<Source> hasChanged);
+
 	// Create the concrete instances of objects implemented by the platform
 	public abstract AbstractCommandAPICommand<?, Argument, CommandSender> newConcreteCommandAPICommand(CommandMetaData<CommandSender> meta);
 
@@ -30,7 +30,7 @@ final class CommandMetaData<CommandSender> {
 	/**
 	 * A predicate that a {@link AbstractCommandSender} must pass in order to execute the command
 	 */
-	Predicate<CommandSender> requirements = s -> true;
+	Predicate<CommandSender> requirements = CommandAPIHandler.noRequirements();
 	
 	/**
 	 * An optional short description for the command
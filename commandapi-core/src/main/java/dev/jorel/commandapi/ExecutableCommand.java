@@ -81,7 +81,9 @@ abstract class ExecutableCommand<Impl extends ExecutableCommand<Impl, CommandSen
 	 * @return this command builder
 	 */
 	public Impl withRequirement(Predicate<CommandSender> requirement) {
-		this.meta.requirements = this.meta.requirements.and(requirement);
+		this.meta.requirements = CommandAPIHandler.hasRequirements(this.meta.requirements)
+			? this.meta.requirements.and(requirement)
+			: requirement;
 		return instance();
 	}
 
@@ -21,6 +21,7 @@
 package dev.jorel.commandapi;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
 
@@ -49,6 +50,9 @@ public class InternalConfig {
 	// List of plugins which should ignore proxied senders
 	private final List<String> skipSenderProxy;
 
+	// How long the results of dynamic suggestions are reused by SuggestionsBranches
+	private final Duration suggestionsBranchCacheExpiry;
+
 	// NBT API configuration
 	private final Class<?> nbtContainerClass;
 	private final Function<Object, ?> nbtContainerConstructor;
@@ -65,6 +69,7 @@ public class InternalConfig {
 		this.message_missingExecutorImplementation = config.missingExecutorImplementationMessage;
 		this.dispatcherFile = config.dispatcherFile;
 		this.skipSenderProxy = config.skipSenderProxy;
+		this.suggestionsBranchCacheExpiry = config.suggestionsBranchCacheExpiry;
 		this.nbtContainerClass = config.nbtContainerClass;
 		this.nbtContainerConstructor = config.nbtContainerConstructor;
 	}
@@ -114,6 +119,13 @@ public class InternalConfig {
 		return this.skipSenderProxy.contains(commandName);
 	}
 
+	/**
+	 * @return How long SuggestionsBranches reuse the results of dynamic suggestions
+	 */
+	public Duration getSuggestionsBranchCacheExpiry() {
+		return this.suggestionsBranchCacheExpiry;
+	}
+
 	/**
 	 * @return The NBT Tag Compound implementation class
 	 */
@@ -0,0 +1,124 @@
+package dev.jorel.commandapi;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import dev.jorel.commandapi.arguments.CacheableArgument;
+
+/**
+ * Caches the values parsed by {@link CacheableArgument}s, using the raw input
+ * of the argument as the key. Each type of argument has its own cache, which
+ * forgets the least recently used value when it is full.
+ */
+public class ParseResultCache {
+
+	/**
+	 * The maximum number of values cached for each type of argument
+	 */
+	public static final int MAX_SIZE_PER_TYPE = 256;
+
+	/**
+	 * Parses an argument
+	 */
+	@FunctionalInterface
+	public interface Parser {
+		Object parse() throws CommandSyntaxException;
+	}
+
+	/**
+	 * How often the cache for a type of argument was used
+	 *
+	 * @param hits   the number of times a value was found in the cache
+	 * @param misses the number of times a value had to be parsed
+	 */
+	public record Statistics(long hits, long misses) {
+
+		/**
+		 * @return the fraction of values that were found in the cache, between 0 and 1
+		 */
+		public double hitRate() {
+			long requests = hits + misses;
+			return requests == 0 ? 0 : (double) hits / requests;
+		}
+	}
+
+	/**
+	 * The cached values for one type of argument
+	 */
+	private static class TypeCache {
+		private final Map<String, Object> values = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+				return size() > MAX_SIZE_PER_TYPE;
+			}
+		};
+		private long hits = 0;
+		private long misses = 0;
+	}
+
+	private final Map<Class<?>, TypeCache> caches = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the value cached for the provided argument and input, parsing and
+	 * caching it if it hasn't been cached yet
+	 *
+	 * @param argument the argument to parse
+	 * @param input    the raw input of the argument
+	 * @param parser   parses the argument if its value isn't cached
+	 * @return the value of the argument
+	 * @throws CommandSyntaxException if the argument couldn't be parsed
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Object getOrParse(CacheableArgument argument, String input, Parser parser) throws CommandSyntaxException {
+		// The raw input is unknown for redirected commands
+		if (input.isEmpty()) {
+			return parser.parse();
+		}
+
+		TypeCache cache = caches.computeIfAbsent(argument.getClass(), type -> new TypeCache());
+		synchronized (cache) {
+			Object value = cache.values.get(input);
+			if (value != null) {
+				cache.hits++;
+				return argument.copyCachedValue(value);
+			}
+			cache.misses++;
+		}
+
+		Object value = parser.parse();
+		if (value != null) {
+			synchronized (cache) {
+				cache.values.put(input, value);
+			}
+			value = argument.copyCachedValue(value);
+		}
+		return value;
+	}
+
+	/**
+	 * @return how often the cache was used for each type of argument
+	 */
+	public Map<Class<?>, Statistics> getStatistics() {
+		Map<Class<?>, Statistics> statistics = new LinkedHashMap<>();
+		caches.forEach((type, cache) -> {
+			synchronized (cache) {
+				statistics.put(type, new Statistics(cache.hits, cache.misses));
+			}
+		});
+		return statistics;
+	}
+
+	/**
+	 * Forgets every cached value and resets the statistics. This should be called
+	 * when the server's registries may have changed, such as when datapacks are
+	 * reloaded.
+	 */
+	public void invalidate() {
+		getStatistics().forEach((type, statistics) -> CommandAPI.logInfo(String.format("Parse cache for %s: %d hits, %d misses (%.1f%% hit rate)",
+			type.getSimpleName(), statistics.hits(), statistics.misses(), statistics.hitRate() * 100)));
+		caches.clear();
+	}
+}
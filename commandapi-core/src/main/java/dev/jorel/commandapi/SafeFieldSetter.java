@@ -0,0 +1,50 @@
+package dev.jorel.commandapi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+/**
+ * A setter for a field with the same type safety and mapping handling as
+ * {@link SafeVarHandle}. VarHandles can never write to final fields, so this
+ * should be used instead of a SafeVarHandle when a final instance field has to
+ * be changed.
+ *
+ * @param <Type>
+ * @param <FieldType>
+ */
+public class SafeFieldSetter<Type, FieldType> {
+
+	private final MethodHandle setter;
+
+	private SafeFieldSetter(MethodHandle setter) {
+		this.setter = setter;
+	}
+
+	private static <Type, FieldType> SafeFieldSetter<Type, FieldType> of(Class<? super Type> classType, String fieldName, String mojangMappedFieldName)
+		throws ReflectiveOperationException {
+		Field field = classType.getDeclaredField(SafeVarHandle.USING_MOJANG_MAPPINGS ? mojangMappedFieldName : fieldName);
+		field.setAccessible(true);
+		return new SafeFieldSetter<>(MethodHandles.lookup().unreflectSetter(field));
+	}
+
+	public static <Type, FieldType> SafeFieldSetter<Type, FieldType> ofOrNull(Class<? super Type> classType, String fieldName, String mojangMappedFieldName) {
+		try {
+			return of(classType, fieldName, mojangMappedFieldName);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	public void set(Type instance, FieldType param) {
+		try {
+			setter.invoke(instance, param);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			// Setters can't throw checked exceptions
+			throw new IllegalStateException(e);
+		}
+	}
+}
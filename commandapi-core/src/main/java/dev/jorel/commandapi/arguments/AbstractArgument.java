@@ -24,6 +24,7 @@ import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.jorel.commandapi.AbstractArgumentTree;
+import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.CommandPermission;
 import dev.jorel.commandapi.executors.CommandArguments;
 
@@ -203,7 +204,7 @@ public abstract class AbstractArgument<T, Impl extends AbstractArgument<T, Impl,
 	// Requirements //
 	//////////////////
 
-	private Predicate<CommandSender> requirements = s -> true;
+	private Predicate<CommandSender> requirements = CommandAPIHandler.noRequirements();
 
 	/**
 	 * Returns the requirements required to run this command
@@ -223,7 +224,9 @@ public abstract class AbstractArgument<T, Impl extends AbstractArgument<T, Impl,
 	 * @return this current argument
 	 */
 	public final Impl withRequirement(Predicate<CommandSender> requirement) {
-		this.requirements = this.requirements.and(requirement);
+		this.requirements = CommandAPIHandler.hasRequirements(this.requirements)
+			? this.requirements.and(requirement)
+			: requirement;
 		return instance();
 	}
 
@@ -231,7 +234,7 @@ public abstract class AbstractArgument<T, Impl extends AbstractArgument<T, Impl,
 	 * Resets the requirements for this command
 	 */
 	void resetRequirements() {
-		this.requirements = s -> true;
+		this.requirements = CommandAPIHandler.noRequirements();
 	}
 
 	/////////////////
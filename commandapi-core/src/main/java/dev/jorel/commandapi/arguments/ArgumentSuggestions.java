@@ -6,8 +6,11 @@ import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import dev.jorel.commandapi.IStringTooltip;
 import dev.jorel.commandapi.SuggestionInfo;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
@@ -38,7 +41,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting nothing.
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> empty() {
-		return (info, builder) -> builder.buildFuture();
+		return StaticArgumentSuggestions.ofStrings((info, builder) -> builder.buildFuture(), Set.of());
 	}
 
 	/**
@@ -49,7 +52,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting hardcoded strings
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> strings(String... suggestions) {
-		return (info, builder) -> future(suggestionsFromStrings(builder, suggestions));
+		return StaticArgumentSuggestions.ofStrings((info, builder) -> future(suggestionsFromStrings(builder, suggestions)), new HashSet<>(Arrays.asList(suggestions)));
 	}
 
 	/**
@@ -60,7 +63,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting hardcoded strings
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> strings(Collection<String> suggestions) {
-		return (info, builder) -> future(suggestionsFromStrings(builder, suggestions));
+		return StaticArgumentSuggestions.ofStrings((info, builder) -> future(suggestionsFromStrings(builder, suggestions)), suggestions);
 	}
 
 	/**
@@ -119,7 +122,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting the hardcoded strings with tooltips
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringsWithTooltips(IStringTooltip... suggestions) {
-		return (info, builder) -> future(suggestionsFromTooltips(builder, suggestions));
+		return StaticArgumentSuggestions.ofStrings((info, builder) -> future(suggestionsFromTooltips(builder, suggestions)), suggestionTexts(suggestions));
 	}
 
 	/**
@@ -130,7 +133,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting the hardcoded strings with tooltips
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringsWithTooltips(Collection<IStringTooltip> suggestions) {
-		return (info, builder) -> future(suggestionsFromTooltips(builder, suggestions));
+		return StaticArgumentSuggestions.ofTooltips((info, builder) -> future(suggestionsFromTooltips(builder, suggestions)), suggestions);
 	}
 
 	/**
@@ -284,6 +287,21 @@ public interface ArgumentSuggestions<CommandSender> {
 		return suggestion.toLowerCase(Locale.ROOT).startsWith(builder.getRemaining().toLowerCase(Locale.ROOT));
 	}
 
+	/**
+	 * Collect the strings suggested by an array of strings with tooltips
+	 *
+	 * @param suggestions array of strings with tooltips
+	 *
+	 * @return a set of the strings suggested by the array
+	 */
+	private static Set<String> suggestionTexts(IStringTooltip... suggestions) {
+		Set<String> texts = new HashSet<>();
+		for(IStringTooltip suggestion : suggestions) {
+			texts.add(suggestion.getSuggestion());
+		}
+		return texts;
+	}
+
 	/**
 	 * Wrap a value in a {@link CompletableFuture}
 	 *
@@ -0,0 +1,24 @@
+package dev.jorel.commandapi.arguments;
+
+/**
+ * An interface representing arguments whose parsed value only depends on the
+ * raw input of the argument and the server's registries. The CommandAPI caches
+ * the values parsed by these arguments, and forgets them when datapacks are
+ * reloaded.
+ *
+ * @param <T> the type of the value parsed by this argument
+ */
+public interface CacheableArgument<T> {
+
+	/**
+	 * Returns the value to give to a command when this argument's value was found
+	 * in the cache. Arguments that parse mutable values should return a copy here,
+	 * so that commands can't change the cached value.
+	 *
+	 * @param cachedValue the cached value
+	 * @return the value to give to the command
+	 */
+	default T copyCachedValue(T cachedValue) {
+		return cachedValue;
+	}
+}
@@ -0,0 +1,82 @@
+package dev.jorel.commandapi.arguments;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import dev.jorel.commandapi.IStringTooltip;
+import dev.jorel.commandapi.SuggestionInfo;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ArgumentSuggestions} that always suggest the same strings, whatever the
+ * {@link SuggestionInfo} is. A {@link SuggestionsBranch} checks whether an argument
+ * was suggested by these without having to build the suggestions.
+ *
+ * @param <CommandSender> the type of command sender the suggestions are for
+ */
+final class StaticArgumentSuggestions<CommandSender> implements ArgumentSuggestions<CommandSender> {
+
+	private final ArgumentSuggestions<CommandSender> suggestions;
+	// Either Strings or IStringTooltips
+	private final Collection<?> values;
+	private final boolean tooltips;
+
+	private StaticArgumentSuggestions(ArgumentSuggestions<CommandSender> suggestions, Collection<?> values, boolean tooltips) {
+		this.suggestions = suggestions;
+		this.values = values;
+		this.tooltips = tooltips;
+	}
+
+	static <CommandSender> StaticArgumentSuggestions<CommandSender> ofStrings(ArgumentSuggestions<CommandSender> suggestions, Collection<String> values) {
+		return new StaticArgumentSuggestions<>(suggestions, values, false);
+	}
+
+	static <CommandSender> StaticArgumentSuggestions<CommandSender> ofTooltips(ArgumentSuggestions<CommandSender> suggestions, Collection<IStringTooltip> values) {
+		return new StaticArgumentSuggestions<>(suggestions, values, true);
+	}
+
+	@Override
+	public CompletableFuture<Suggestions> suggest(SuggestionInfo<CommandSender> info, SuggestionsBuilder builder) throws CommandSyntaxException {
+		return suggestions.suggest(info, builder);
+	}
+
+	/**
+	 * Returns whether the given text is suggested when nothing has been typed for the argument
+	 *
+	 * @param text the text to look for
+	 * @return true if the text is one of these suggestions
+	 */
+	boolean suggests(String text) {
+		// Brigadier drops suggestions that are the same as the input, so an empty string is never suggested
+		if (text.isEmpty()) {
+			return false;
+		}
+		if (!tooltips) {
+			return values.contains(text);
+		}
+		for (Object value : values) {
+			if (text.equals(getText(value))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if nothing is suggested when nothing has been typed for the argument
+	 */
+	boolean isEmpty() {
+		for (Object value : values) {
+			if (!getText(value).isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getText(Object value) {
+		return value instanceof IStringTooltip tooltip ? tooltip.getSuggestion() : (String) value;
+	}
+}
@@ -6,9 +6,11 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import com.mojang.brigadier.suggestion.Suggestion;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.SuggestionInfo;
 import dev.jorel.commandapi.executors.CommandArguments;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 
 /**
@@ -19,6 +21,49 @@ public class SuggestionsBranch<CommandSender> {
 	private final List<ArgumentSuggestions<CommandSender>> suggestions;
 	private final List<SuggestionsBranch<CommandSender>> branches = new ArrayList<>();
 
+	// How many results of dynamic suggestions to remember. How long they are
+	// remembered for is set in the config
+	private static final int SUGGESTION_TEXTS_CACHE_SIZE = 64;
+
+	/**
+	 * The sender is only held weakly, so that players who leave the server
+	 * aren't kept in memory until newer results push them out of the cache
+	 */
+	private record SuggestionTextsKey(WeakReference<Object> sender, int senderHash, ArgumentSuggestions<?> suggestions, List<String> previousArguments) {
+
+		SuggestionTextsKey(Object sender, ArgumentSuggestions<?> suggestions, List<String> previousArguments) {
+			this(new WeakReference<>(sender), Objects.hashCode(sender), suggestions, previousArguments);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof SuggestionTextsKey other)) {
+				return false;
+			}
+			Object sender = this.sender.get();
+			return sender != null && sender.equals(other.sender.get())
+				&& suggestions.equals(other.suggestions) && previousArguments.equals(other.previousArguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(senderHash, suggestions, previousArguments);
+		}
+	}
+
+	private record SuggestionTexts(Set<String> texts, long createdAt) {
+	}
+
+	private static final Map<SuggestionTextsKey, SuggestionTexts> suggestionTextsCache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<SuggestionTextsKey, SuggestionTexts> eldest) {
+			return size() > SUGGESTION_TEXTS_CACHE_SIZE;
+		}
+	};
+
 	private SuggestionsBranch(List<ArgumentSuggestions<CommandSender>> suggestions) {
 		this.suggestions = suggestions;
 	}
@@ -61,45 +106,47 @@ public class SuggestionsBranch<CommandSender> {
 	 * @throws CommandSyntaxException if the given previous arguments don't lead to a valid path for this {@link SuggestionsBranch}
 	 */
 	public ArgumentSuggestions<CommandSender> getNextSuggestion(CommandSender sender, String... previousArguments) throws CommandSyntaxException {
-		return getNextSuggestion(sender, previousArguments, new StringReader(String.join(" ", previousArguments)), new ArrayList<>(), new StringBuilder());
+		return getNextSuggestion(sender, previousArguments, new StringReader(String.join(" ", previousArguments)), 0, 0);
 	}
 
 	@SuppressWarnings("unchecked")
-	private ArgumentSuggestions<CommandSender> getNextSuggestion(CommandSender sender, String[] previousArguments, StringReader errorContext, List<String> processedArguments, StringBuilder currentInput) throws CommandSyntaxException {
+	private ArgumentSuggestions<CommandSender> getNextSuggestion(CommandSender sender, String[] previousArguments, StringReader errorContext, int processedArguments, int inputLength) throws CommandSyntaxException {
 		if (branches.isEmpty() && suggestions.isEmpty()) {
 			return null;
 		}
 		for (ArgumentSuggestions<CommandSender> currentSuggestion : suggestions) {
 			// If all the arguments were processed, this suggestion is next
-			if (processedArguments.size() == previousArguments.length) {
+			if (processedArguments == previousArguments.length) {
 				return currentSuggestion;
 			}
-			String currentArgument = previousArguments[processedArguments.size()];
-			errorContext.setCursor(currentInput.length());
+			String currentArgument = previousArguments[processedArguments];
+			errorContext.setCursor(inputLength);
 
 			if (currentSuggestion != null) {
-				// Validate argument on the path
-				SuggestionInfo<CommandSender> info = new SuggestionInfo<>(sender, new CommandArguments(processedArguments.toArray(), new HashMap<>(), currentInput.toString()), currentInput.toString(), "");
-				SuggestionsBuilder builder = new SuggestionsBuilder(currentInput.toString(), currentInput.length());
-				currentSuggestion.suggest(info, builder);
-				if (builder.build().getList().stream().map(Suggestion::getText).noneMatch(currentArgument::equals)) {
-					if (processedArguments.isEmpty()) {
+				// Validate argument on the path. The previous arguments are validated again
+				// for every keystroke, so the results of dynamic suggestions are reused
+				boolean suggested;
+				if (currentSuggestion instanceof StaticArgumentSuggestions<CommandSender> staticSuggestion) {
+					suggested = staticSuggestion.suggests(currentArgument);
+				} else {
+					suggested = getSuggestionTextsMemoized(currentSuggestion, sender, previousArguments, processedArguments).contains(currentArgument);
+				}
+				if (!suggested) {
+					if (processedArguments == 0) {
 						throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand().createWithContext(errorContext);
 					} else {
 						throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownArgument().createWithContext(errorContext);
 					}
 				}
 			}
-			currentInput.append(currentArgument).append(" ");
-			processedArguments.add(currentArgument);
+			inputLength += currentArgument.length() + 1;
+			processedArguments++;
 		}
 
 		List<ArgumentSuggestions<CommandSender>> mergedBranches = new ArrayList<>();
 		for (SuggestionsBranch<CommandSender> branch : branches) {
 			try {
-				mergedBranches.add(branch.getNextSuggestion(
-					sender, previousArguments, errorContext, new ArrayList<>(processedArguments), new StringBuilder(currentInput)
-				));
+				mergedBranches.add(branch.getNextSuggestion(sender, previousArguments, errorContext, processedArguments, inputLength));
 			} catch (CommandSyntaxException ignored) {
 				assert true;
 			}
@@ -107,7 +154,7 @@ public class SuggestionsBranch<CommandSender> {
 
 		if (mergedBranches.isEmpty()) {
 			// If all branches had errors there were no valid paths
-			if (processedArguments.isEmpty()) {
+			if (processedArguments == 0) {
 				throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand().createWithContext(errorContext);
 			} else {
 				throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownArgument().createWithContext(errorContext);
@@ -129,6 +176,57 @@ public class SuggestionsBranch<CommandSender> {
 		}
 	}
 
+	/**
+	 * Runs the given suggestions for the argument after the processed arguments, as if nothing
+	 * had been typed for it yet.
+	 *
+	 * @return the text of every suggestion
+	 * @throws CommandSyntaxException if the suggestions could not be built
+	 */
+	private static <CommandSender> Set<String> getSuggestionTexts(ArgumentSuggestions<CommandSender> suggestions, CommandSender sender, String[] arguments, int processedArguments) throws CommandSyntaxException {
+		Object[] previousArguments = new Object[processedArguments];
+		StringBuilder currentInputBuilder = new StringBuilder();
+		for (int i = 0; i < processedArguments; i++) {
+			// The arguments may have run out before the suggestions did
+			String argument = i < arguments.length ? arguments[i] : "";
+			previousArguments[i] = argument;
+			currentInputBuilder.append(argument).append(" ");
+		}
+		String currentInput = currentInputBuilder.toString();
+
+		SuggestionInfo<CommandSender> info = new SuggestionInfo<>(sender, new CommandArguments(previousArguments, new HashMap<>(), currentInput), currentInput, "");
+		SuggestionsBuilder builder = new SuggestionsBuilder(currentInput, currentInput.length());
+		suggestions.suggest(info, builder);
+
+		Set<String> texts = new HashSet<>();
+		for (Suggestion suggestion : builder.build().getList()) {
+			texts.add(suggestion.getText());
+		}
+		return texts;
+	}
+
+	/**
+	 * Same as {@link #getSuggestionTexts}, but reuses the
+	 * result if the same suggestions were run for the same sender and previous arguments recently.
+	 * How long results are reused for is set by {@link dev.jorel.commandapi.CommandAPIConfig#suggestionsBranchCacheExpiry}.
+	 */
+	private static <CommandSender> Set<String> getSuggestionTextsMemoized(ArgumentSuggestions<CommandSender> suggestions, CommandSender sender, String[] arguments, int processedArguments) throws CommandSyntaxException {
+		SuggestionTextsKey key = new SuggestionTextsKey(sender, suggestions, List.of(arguments).subList(0, processedArguments));
+		long now = System.nanoTime();
+		synchronized (suggestionTextsCache) {
+			SuggestionTexts cached = suggestionTextsCache.get(key);
+			if (cached != null && now - cached.createdAt() < CommandAPI.getConfiguration().getSuggestionsBranchCacheExpiry().toNanos()) {
+				return cached.texts();
+			}
+		}
+
+		Set<String> texts = getSuggestionTexts(suggestions, sender, arguments, processedArguments);
+		synchronized (suggestionTextsCache) {
+			suggestionTextsCache.put(key, new SuggestionTexts(texts, now));
+		}
+		return texts;
+	}
+
 	/**
 	 * Makes sure the given arguments correspond to the suggestions of this {@link SuggestionsBranch}
 	 *
@@ -137,7 +235,7 @@ public class SuggestionsBranch<CommandSender> {
 	 * @throws CommandSyntaxException if the given arguments don't lead to a valid path for this {@link SuggestionsBranch}
 	 */
 	public void enforceReplacements(CommandSender sender, String... arguments) throws CommandSyntaxException {
-		EnforceReplacementsResult result = enforceReplacements(sender, arguments, new StringReader(String.join(" ", arguments)), new ArrayList<>(), new StringBuilder());
+		EnforceReplacementsResult result = enforceReplacements(sender, arguments, new StringReader(String.join(" ", arguments)), 0, 0);
 		if (result.type != ExceptionType.NO_ERROR) {
 			throw result.exception;
 		}
@@ -168,47 +266,54 @@ public class SuggestionsBranch<CommandSender> {
 		UNKNOWN
 	}
 
-	private EnforceReplacementsResult enforceReplacements(CommandSender sender, String[] arguments, StringReader errorContext, List<String> processedArguments, StringBuilder currentInput) {
+	private EnforceReplacementsResult enforceReplacements(CommandSender sender, String[] arguments, StringReader errorContext, int processedArguments, int inputLength) {
 		if (branches.isEmpty() && suggestions.isEmpty()) {
 			return new EnforceReplacementsResult(ExceptionType.NO_ERROR, null);
 		}
 
 		for (ArgumentSuggestions<CommandSender> currentSuggestion : suggestions) {
 			String currentArgument;
-			if (processedArguments.size() >= arguments.length) {
+			if (processedArguments >= arguments.length) {
 				currentArgument = "";
 			} else {
-				currentArgument = arguments[processedArguments.size()];
+				currentArgument = arguments[processedArguments];
 			}
-			errorContext.setCursor(currentInput.length());
+			errorContext.setCursor(inputLength);
 
 			if (currentSuggestion != null) {
 				// Validate argument on the path
-				SuggestionInfo<CommandSender> info = new SuggestionInfo<>(sender, new CommandArguments(processedArguments.toArray(), new HashMap<>(), currentInput.toString()), currentInput.toString(), "");
-				SuggestionsBuilder builder = new SuggestionsBuilder(currentInput.toString(), currentInput.length());
-				try {
-					currentSuggestion.suggest(info, builder);
-				} catch (CommandSyntaxException exception) {
-					return new EnforceReplacementsResult(ExceptionType.UNKNOWN, exception);
+				boolean noSuggestions;
+				boolean suggested;
+				if (currentSuggestion instanceof StaticArgumentSuggestions<CommandSender> staticSuggestion) {
+					noSuggestions = staticSuggestion.isEmpty();
+					suggested = staticSuggestion.suggests(currentArgument);
+				} else {
+					Set<String> results;
+					try {
+						results = getSuggestionTexts(currentSuggestion, sender, arguments, processedArguments);
+					} catch (CommandSyntaxException exception) {
+						return new EnforceReplacementsResult(ExceptionType.UNKNOWN, exception);
+					}
+					noSuggestions = results.isEmpty();
+					suggested = results.contains(currentArgument);
 				}
-				List<String> results = builder.build().getList().stream().map(Suggestion::getText).toList();
 				if (currentArgument.isEmpty()) {
-					if (results.isEmpty()) {
+					if (noSuggestions) {
 						// Arguments ended at same time as suggestions
 						return EnforceReplacementsResult.withContext(ExceptionType.NO_ERROR, errorContext);
 					} else {
 						return EnforceReplacementsResult.withContext(ExceptionType.NOT_ENOUGH_ARGUMENTS, errorContext);
 					}
-				} else if (!results.contains(currentArgument)) {
-					if (processedArguments.isEmpty()) {
+				} else if (!suggested) {
+					if (processedArguments == 0) {
 						return EnforceReplacementsResult.withContext(ExceptionType.UNKNOWN_COMMAND, errorContext);
 					} else {
 						return EnforceReplacementsResult.withContext(ExceptionType.UNKNOWN_ARGUMENT, errorContext);
 					}
 				}
 			}
-			currentInput.append(currentArgument).append(" ");
-			processedArguments.add(currentArgument);
+			inputLength += currentArgument.length() + 1;
+			processedArguments++;
 		}
 
 		if (branches.isEmpty()) {
@@ -218,7 +323,7 @@ public class SuggestionsBranch<CommandSender> {
 		// Check the branches to see if the arguments fit and try to choose an appropriate response
 		EnforceReplacementsResult finalResult = EnforceReplacementsResult.withContext(ExceptionType.UNKNOWN, errorContext);
 		for (SuggestionsBranch<CommandSender> branch : branches) {
-			EnforceReplacementsResult result = branch.enforceReplacements(sender, arguments, errorContext, new ArrayList<>(processedArguments), new StringBuilder(currentInput));
+			EnforceReplacementsResult result = branch.enforceReplacements(sender, arguments, errorContext, processedArguments, inputLength);
 			if (result.isHigherPriority(finalResult)) {
 				finalResult = result;
 			}
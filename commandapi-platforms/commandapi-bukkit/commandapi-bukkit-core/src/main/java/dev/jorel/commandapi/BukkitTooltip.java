@@ -22,7 +22,6 @@ package dev.jorel.commandapi;
 
 import com.mojang.brigadier.Message;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.chat.ComponentSerializer;
 
@@ -157,7 +156,7 @@ public class BukkitTooltip<S> extends Tooltip<S> {
 	 * @return native minecraft message object which can be used natively by brigadier.
 	 */
 	public static Message messageFromAdventureComponent(Component component) {
-		return CommandAPIBukkit.get().generateMessageFromJson(GsonComponentSerializer.gson().serialize(component));
+		return CommandAPIBukkit.get().generateMessageFromAdventureComponent(component);
 	}
 
 }
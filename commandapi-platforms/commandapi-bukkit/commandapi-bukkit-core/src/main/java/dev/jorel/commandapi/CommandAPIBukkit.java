@@ -1,6 +1,7 @@
 package dev.jorel.commandapi;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.Message;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -20,6 +21,7 @@ import dev.jorel.commandapi.preprocessor.RequireField;
 import dev.jorel.commandapi.preprocessor.Unimplemented;
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -30,6 +32,9 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.help.HelpTopic;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.permissions.Permission;
@@ -37,7 +42,11 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,6 +66,41 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	private static InternalBukkitConfig config;
 	private PaperImplementations paper;
 
+	// Namespaced keys of the root node's children (e.g. minecraft:give), indexed by the
+	// lowercase name after the namespace, used to speed up forced unregistration
+	private final Map<String, Set<String>> namespacedRootKeys = new HashMap<>();
+	private int namespacedRootKeysIndexedSize = -1;
+
+	// Batches command tree resends to players
+	private CommandTreeResender commandTreeResender;
+
+	// Shares commands packets between players with the same permissions
+	private CommandsPacketCache<?> commandsPacketCache;
+
+	// Entity selector results found during the current tick
+	private EntitySelectorCache entitySelectorCache;
+
+	// ItemStacks created by item stack arguments
+	private ItemStackCache itemStackCache;
+
+	// SimpleFunctionWrappers converted from Minecraft functions
+	private final FunctionWrapperCache functionWrapperCache = new FunctionWrapperCache();
+
+	// UUIDs of players by their names, for offline player arguments
+	private final OfflinePlayerCache offlinePlayerCache = new OfflinePlayerCache();
+
+	// Online players by their names, for player arguments
+	private final PlayerNameIndex playerNameIndex = new PlayerNameIndex();
+
+	// Messages converted from Adventure components, which are usually static tooltips
+	private static final int ADVENTURE_MESSAGE_CACHE_SIZE = 256;
+	private final Map<Component, Message> adventureMessages = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Component, Message> eldest) {
+			return size() > ADVENTURE_MESSAGE_CACHE_SIZE;
+		}
+	};
+
 	// Static VarHandles
 	private static final SafeVarHandle<CommandNode<?>, Map<String, CommandNode<?>>> commandNodeChildren;
 	private static final SafeVarHandle<CommandNode<?>, Map<String, CommandNode<?>>> commandNodeLiterals;
@@ -162,10 +206,15 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 
 			// Sort out permissions after the server has finished registering them all
 			fixPermissions();
-			reloadDataPacks();
+			requestDataPacksReload();
 			updateHelpForCommands();
 		}, 0L);
 
+		// Players may already be online if the server was reloaded
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			playerNameIndex.add(player);
+		}
+
 		// (Re)send command graph packet to players when they join
 		Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
 
@@ -173,6 +222,28 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 			@EventHandler(priority = EventPriority.MONITOR)
 			public void onPlayerJoin(PlayerJoinEvent e) {
 				resendPackets(e.getPlayer());
+				getOfflinePlayerCache().remember(e.getPlayer().getName(), e.getPlayer().getUniqueId());
+				getPlayerNameIndex().add(e.getPlayer());
+			}
+
+			// Players that just left are likely to be used in offline player arguments
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPlayerQuit(PlayerQuitEvent e) {
+				getOfflinePlayerCache().remember(e.getPlayer().getName(), e.getPlayer().getUniqueId());
+				getPlayerNameIndex().remove(e.getPlayer());
+			}
+
+			// Plugins can add or remove commands when they are enabled or disabled
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPluginEnable(PluginEnableEvent e) {
+				getCommandsPacketCache().invalidate();
+				Converter.onCommandMapChanged();
+			}
+
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPluginDisable(PluginDisableEvent e) {
+				getCommandsPacketCache().invalidate();
+				Converter.onCommandMapChanged();
 			}
 
 		}, plugin);
@@ -237,20 +308,20 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		return (Bukkit.getPluginCommand(command) == null ? "/" : "/minecraft:") + command;
 	}
 
-	private void generateHelpUsage(StringBuilder sb, RegisteredCommand command) {
+	private void generateHelpUsage(StringBuilder sb, RegisteredCommand command, List<RegisteredCommand> commandsWithSameName) {
 		sb.append(ChatColor.GOLD).append("Usage: ").append(ChatColor.WHITE);
 
 		// Generate usages
 		List<String> usages = new ArrayList<>();
-		for (RegisteredCommand rCommand : CommandAPIHandler.getInstance().registeredCommands) {
-			if (rCommand.commandName().equals(command.commandName())) {
-				StringBuilder usageString = new StringBuilder();
-				usageString.append("/").append(command.commandName()).append(" ");
-				for (String arg : rCommand.argsAsStr()) {
-					usageString.append("<").append(arg.split(":")[0]).append("> ");
-				}
-				usages.add(usageString.toString().trim());
+		for (RegisteredCommand rCommand : commandsWithSameName) {
+			StringBuilder usageString = new StringBuilder();
+			usageString.append("/").append(command.commandName()).append(" ");
+			for (String arg : rCommand.argsAsStr()) {
+				// Arguments are stored as nodeName:ArgumentClass
+				int separator = arg.indexOf(':');
+				usageString.append("<").append(separator == -1 ? arg : arg.substring(0, separator)).append("> ");
 			}
+			usages.add(usageString.toString().trim());
 		}
 
 		// If 1 usage, put it on the same line, otherwise format like a list
@@ -267,10 +338,52 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		}
 	}
 
+	/*
+	 * Generates the full text of a help topic. If alias is null, this generates
+	 * the text for the command itself, otherwise it generates the text for that alias
+	 */
+	private String generateHelpText(RegisteredCommand command, List<RegisteredCommand> commandsWithSameName, String alias) {
+		// Generate full description
+		StringBuilder sb = new StringBuilder();
+		final Optional<String> fullDescriptionOptional = command.fullDescription();
+		if (fullDescriptionOptional.isPresent()) {
+			sb.append(ChatColor.GOLD).append("Description: ").append(ChatColor.WHITE).append(fullDescriptionOptional.get()).append("\n");
+		}
+
+		generateHelpUsage(sb, command, commandsWithSameName);
+		sb.append("\n");
+
+		// Generate aliases
+		if (alias == null) {
+			if (command.aliases().length > 0) {
+				sb.append(ChatColor.GOLD).append("Aliases: ").append(ChatColor.WHITE).append(String.join(", ", command.aliases()));
+			}
+		} else {
+			sb.append(ChatColor.GOLD).append("Aliases: ").append(ChatColor.WHITE);
+
+			// We want to get all aliases (including the original command name),
+			// except for the current alias
+			List<String> aliases = new ArrayList<>(Arrays.asList(command.aliases()));
+			aliases.add(command.commandName());
+			aliases.remove(alias);
+
+			sb.append(ChatColor.WHITE).append(String.join(", ", aliases));
+		}
+		return sb.toString().trim();
+	}
+
 	void updateHelpForCommands() {
 		Map<String, HelpTopic> helpTopicsToAdd = new HashMap<>();
+		List<RegisteredCommand> registeredCommands = CommandAPIHandler.getInstance().registeredCommands;
+
+		// Index commands by name, so generating usages doesn't have to look
+		// through every registered command
+		Map<String, List<RegisteredCommand>> commandsByName = new HashMap<>();
+		for (RegisteredCommand command : registeredCommands) {
+			commandsByName.computeIfAbsent(command.commandName(), name -> new ArrayList<>()).add(command);
+		}
 
-		for (RegisteredCommand command : CommandAPIHandler.getInstance().registeredCommands) {
+		for (RegisteredCommand command : registeredCommands) {
 			// Generate short description
 			final String shortDescription;
 			final Optional<String> shortDescriptionOptional = command.shortDescription();
@@ -283,44 +396,22 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 				shortDescription = "A Mojang provided command.";
 			}
 
-			// Generate full description
-			StringBuilder sb = new StringBuilder();
-			if (fullDescriptionOptional.isPresent()) {
-				sb.append(ChatColor.GOLD).append("Description: ").append(ChatColor.WHITE).append(fullDescriptionOptional.get()).append("\n");
-			}
-
-			generateHelpUsage(sb, command);
-			sb.append("\n");
-
-			// Generate aliases. We make a copy of the StringBuilder because we
-			// want to change the output when we register aliases
-			StringBuilder aliasSb = new StringBuilder(sb.toString());
-			if (command.aliases().length > 0) {
-				sb.append(ChatColor.GOLD).append("Aliases: ").append(ChatColor.WHITE).append(String.join(", ", command.aliases()));
-			}
-
 			// Must be empty string, not null as defined by OBC::CustomHelpTopic
 			String permission = command.permission().getPermission().orElse("");
 
+			// The full text is only generated when someone looks at the help topic
+			List<RegisteredCommand> commandsWithSameName = commandsByName.get(command.commandName());
+
 			// Don't override the plugin help topic
 			String commandPrefix = generateCommandHelpPrefix(command.commandName());
-			helpTopicsToAdd.put(commandPrefix, generateHelpTopic(commandPrefix, shortDescription, sb.toString().trim(), permission));
+			helpTopicsToAdd.put(commandPrefix, new CommandAPIHelpTopic(commandPrefix, shortDescription, permission,
+				() -> generateHelpText(command, commandsWithSameName, null)));
 
 			for (String alias : command.aliases()) {
-				StringBuilder currentAliasSb = new StringBuilder(aliasSb.toString());
-				currentAliasSb.append(ChatColor.GOLD).append("Aliases: ").append(ChatColor.WHITE);
-
-				// We want to get all aliases (including the original command name),
-				// except for the current alias
-				List<String> aliases = new ArrayList<>(Arrays.asList(command.aliases()));
-				aliases.add(command.commandName());
-				aliases.remove(alias);
-
-				currentAliasSb.append(ChatColor.WHITE).append(String.join(", ", aliases));
-
 				// Don't override the plugin help topic
 				commandPrefix = generateCommandHelpPrefix(alias);
-				helpTopicsToAdd.put(commandPrefix, generateHelpTopic(commandPrefix, shortDescription, currentAliasSb.toString().trim(), permission));
+				helpTopicsToAdd.put(commandPrefix, new CommandAPIHelpTopic(commandPrefix, shortDescription, permission,
+					() -> generateHelpText(command, commandsWithSameName, alias)));
 			}
 		}
 
@@ -395,7 +486,7 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 
 	@Override
 	public void postCommandRegistration(LiteralCommandNode<Source> resultantNode, List<LiteralCommandNode<Source>> aliasNodes) {
-		// Nothing to do
+		getCommandsPacketCache().invalidate();
 	}
 
 	@Override
@@ -410,21 +501,102 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		}
 
 		// Get the child nodes from the loaded dispatcher class
-		Map<String, CommandNode<?>> children = commandNodeChildren.get(getBrigadierDispatcher().getRoot());
+		RootCommandNode<Source> root = getBrigadierDispatcher().getRoot();
+		Map<String, CommandNode<?>> children = commandNodeChildren.get(root);
+		Map<String, CommandNode<?>> literals = commandNodeLiterals.get(root);
+		Map<String, CommandNode<?>> arguments = commandNodeArguments.get(root);
+
+		List<CommandNode<?>> removedNodes = new ArrayList<>();
+		boolean indexInSync = namespacedRootKeysIndexedSize == children.size();
 
 		if (force) {
-			// Remove them by force
-			for (String key : new HashSet<>(children.keySet())) {
-				if (key.contains(":") && key.split(":")[1].equalsIgnoreCase(commandName)) {
-					children.remove(key);
+			// Remove them by force. Other plugins and the server change the root node
+			// without telling us, so the index is only trusted if it has seen every
+			// child and every key it knows for this command is still there
+			String lowercaseName = commandName.toLowerCase();
+			Set<String> indexedKeys = namespacedRootKeys.get(lowercaseName);
+			boolean indexHit = indexInSync && indexedKeys != null && children.keySet().containsAll(indexedKeys);
+
+			if (indexHit) {
+				for (String key : indexedKeys) {
+					removedNodes.add(children.remove(key));
+					literals.remove(key);
+					arguments.remove(key);
+				}
+			} else {
+				// The index is out of date or doesn't know this command, so check every
+				// key and rebuild the index on the way
+				namespacedRootKeys.clear();
+				for (Iterator<Map.Entry<String, CommandNode<?>>> iterator = children.entrySet().iterator(); iterator.hasNext();) {
+					Map.Entry<String, CommandNode<?>> entry = iterator.next();
+					String key = entry.getKey();
+					if (isNamespacedName(key, commandName)) {
+						iterator.remove();
+						removedNodes.add(entry.getValue());
+						literals.remove(key);
+						arguments.remove(key);
+					} else {
+						indexNamespacedKey(key);
+					}
 				}
+				indexInSync = true;
 			}
+			namespacedRootKeys.remove(lowercaseName);
 		}
 
 		// Otherwise, just remove them normally
-		children.remove(commandName);
-		commandNodeLiterals.get(getBrigadierDispatcher().getRoot()).remove(commandName);
-		commandNodeArguments.get(getBrigadierDispatcher().getRoot()).remove(commandName);
+		CommandNode<?> removed = children.remove(commandName);
+		if (removed != null) {
+			removedNodes.add(removed);
+		}
+		literals.remove(commandName);
+		arguments.remove(commandName);
+
+		// Un-namespaced keys aren't indexed, so removing them keeps the index in sync
+		namespacedRootKeysIndexedSize = indexInSync ? children.size() : -1;
+
+		getCommandsPacketCache().invalidate();
+
+		if (CommandAPI.getConfiguration().hasVerboseOutput()) {
+			CommandAPI.logInfo("Removed %d root node(s) (%d command nodes in total) for /%s"
+				.formatted(removedNodes.size(), countNodes(removedNodes), commandName));
+		}
+	}
+
+	/**
+	 * Adds a key of the root node to the namespace index if it is namespaced
+	 */
+	private void indexNamespacedKey(String key) {
+		int separator = key.indexOf(':');
+		if (separator != -1) {
+			namespacedRootKeys.computeIfAbsent(key.substring(separator + 1).toLowerCase(), name -> new HashSet<>()).add(key);
+		}
+	}
+
+	/**
+	 * Checks whether a key of the root node is {@code namespace:commandName},
+	 * ignoring the case of the command name
+	 */
+	private static boolean isNamespacedName(String key, String commandName) {
+		int separator = key.indexOf(':');
+		return separator != -1
+			&& key.length() - separator - 1 == commandName.length()
+			&& key.regionMatches(true, separator + 1, commandName, 0, commandName.length());
+	}
+
+	/**
+	 * Counts the number of distinct nodes that can be reached from the provided nodes
+	 */
+	private static int countNodes(List<CommandNode<?>> nodes) {
+		Set<CommandNode<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<CommandNode<?>> toVisit = new ArrayDeque<>(nodes);
+		while (!toVisit.isEmpty()) {
+			CommandNode<?> node = toVisit.pop();
+			if (visited.add(node)) {
+				toVisit.addAll(node.getChildren());
+			}
+		}
+		return visited.size();
 	}
 
 	@Override
@@ -455,9 +627,145 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	@Unimplemented(because = VERSION_SPECIFIC_IMPLEMENTATION)
 	public abstract void reloadDataPacks();
 
+	@Override
+	public void requestDataPacksReload() {
+		// Goes through the same guard as Paper's reloads, so that reloads never overlap
+		paper.reloadNow();
+	}
+
 	@Override
 	public void updateRequirements(AbstractPlayer<?> player) {
-		resendPackets((Player) player.getSource());
+		// Players often have their requirements updated several times in one tick
+		// (e.g. when a rank sync updates many permissions), so only resend once
+		getCommandTreeResender().schedule((Player) player.getSource());
+	}
+
+	@Override
+	public void resendCommandTree(Predicate<Source> hasChanged) {
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			if (hasChanged.test(getBrigadierSourceFromCommandSender(new BukkitPlayer(player)))) {
+				getCommandTreeResender().schedule(player);
+			}
+		}
+	}
+
+	private CommandTreeResender getCommandTreeResender() {
+		if (commandTreeResender == null) {
+			commandTreeResender = new CommandTreeResender(config.getPlugin(), this::resendPackets, config.getMaxCommandTreeResendsPerTick());
+		}
+		return commandTreeResender;
+	}
+
+	/**
+	 * Returns the cache used to share commands packets between players with the
+	 * same permissions. Caching is disabled unless enabled in the config.
+	 *
+	 * @param <Packet> the type of the commands packet
+	 * @return the commands packet cache
+	 */
+	@SuppressWarnings("unchecked")
+	public <Packet> CommandsPacketCache<Packet> getCommandsPacketCache() {
+		if (commandsPacketCache == null) {
+			commandsPacketCache = new CommandsPacketCache<>(config.shouldCacheCommandsPacket(), this::getCommandPermissions);
+		}
+		return (CommandsPacketCache<Packet>) commandsPacketCache;
+	}
+
+	/**
+	 * Returns the cache used to reuse entity selector results during a tick.
+	 * Caching is disabled unless enabled in the config.
+	 *
+	 * @return the entity selector cache
+	 */
+	public EntitySelectorCache getEntitySelectorCache() {
+		if (entitySelectorCache == null) {
+			entitySelectorCache = new EntitySelectorCache(config.getPlugin(), config.shouldCacheEntitySelectorsPerTick());
+		}
+		return entitySelectorCache;
+	}
+
+	/**
+	 * Returns the cache used to reuse the ItemStacks created by item stack arguments
+	 * with the same input. The size of the cache is set in the config.
+	 *
+	 * @return the ItemStack cache
+	 */
+	public ItemStackCache getItemStackCache() {
+		if (itemStackCache == null) {
+			itemStackCache = new ItemStackCache(config.getItemStackCacheSize());
+		}
+		return itemStackCache;
+	}
+
+	/**
+	 * Returns the cache used to reuse the SimpleFunctionWrappers that Minecraft
+	 * functions are converted into.
+	 *
+	 * @return the function wrapper cache
+	 */
+	public FunctionWrapperCache getFunctionWrapperCache() {
+		return functionWrapperCache;
+	}
+
+	/**
+	 * Returns the cache used to find the UUIDs of offline players by their names
+	 * without blocking the main thread.
+	 *
+	 * @return the offline player cache
+	 */
+	public OfflinePlayerCache getOfflinePlayerCache() {
+		return offlinePlayerCache;
+	}
+
+	/**
+	 * Returns the index of online players by their names, used to find and
+	 * suggest players for player arguments.
+	 *
+	 * @return the player name index
+	 */
+	public PlayerNameIndex getPlayerNameIndex() {
+		return playerNameIndex;
+	}
+
+	/**
+	 * Converts an Adventure component into a Minecraft message. Adventure
+	 * components can't be changed, so the messages for recently converted
+	 * components are reused instead of serializing the same tooltip to JSON
+	 * every time it is suggested.
+	 *
+	 * @param component the Adventure component to convert
+	 * @return a Minecraft message with the same content as the component
+	 */
+	public Message generateMessageFromAdventureComponent(Component component) {
+		synchronized (adventureMessages) {
+			Message message = adventureMessages.get(component);
+			if (message != null) {
+				return message;
+			}
+		}
+
+		Message message = generateMessageFromJson(GsonComponentSerializer.gson().serialize(component));
+		synchronized (adventureMessages) {
+			adventureMessages.put(component, message);
+		}
+		return message;
+	}
+
+	/**
+	 * Returns every permission that decides whether a command is sent to a player.
+	 * This includes permissions used by CommandAPI commands and the permissions
+	 * of commands in Bukkit's command map.
+	 */
+	private Collection<String> getCommandPermissions() {
+		Set<String> permissions = CommandAPIHandler.getInstance().getRequirementPermissions();
+		for (Command command : getSimpleCommandMap().getCommands()) {
+			String permission = command.getPermission();
+			if (permission != null && !permission.isEmpty()) {
+				// Bukkit allows multiple permissions separated by semicolons
+				permissions.addAll(Arrays.asList(permission.split(";")));
+			}
+		}
+		return permissions;
 	}
 
 	@Override
@@ -497,19 +805,76 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		return CommandAPI.failWithMessage(BukkitTooltip.messageFromAdventureComponent(message));
 	}
 	
-	protected void registerBukkitRecipesSafely(Iterator<Recipe> recipes) {
-		Recipe recipe;
-		while (recipes.hasNext()) {
-			recipe = recipes.next();
+	/**
+	 * Registers recipes again after datapacks have been reloaded, since reloading
+	 * datapacks removes all non-vanilla recipes
+	 *
+	 * @param recipes the recipes that were registered before the reload
+	 * @return the number of recipes that were registered again
+	 */
+	protected int registerBukkitRecipesSafely(Iterator<Recipe> recipes) {
+		List<Recipe> recipesToRegister = new ArrayList<>();
+		recipes.forEachRemaining(recipesToRegister::add);
+
+		int registered = 0;
+		for (Recipe recipe : recipesToRegister) {
 			try {
-				Bukkit.addRecipe(recipe);
-				if (recipe instanceof Keyed keyedRecipe) {
-					CommandAPI.logInfo("Re-registering recipe: " + keyedRecipe.getKey());
+				if (Bukkit.addRecipe(recipe)) {
+					registered++;
 				}
 			} catch (IllegalStateException e) { // From CraftingManager - "Duplicate recipe ignored with ID %id%"
 				assert true; // Can't re-register registered recipes. Not an error.
 			}
 		}
-		
+
+		CommandAPI.logInfo("Re-registered " + registered + " recipe(s)");
+		return registered;
+	}
+
+	/**
+	 * Marks the current datapack reload as asynchronous. This must be called before
+	 * reloadDataPacks returns if datapacks carry on loading afterwards, and the
+	 * reload must then end with {@link #finishReloadingDataPacks} or
+	 * {@link #failReloadingDataPacks}.
+	 */
+	protected void startReloadingDataPacksAsync() {
+		paper.onAsyncDatapackReloadStarted();
+	}
+
+	/**
+	 * Finishes reloading datapacks by registering Bukkit's recipes again, logging
+	 * how long the reload took and calling a {@link DatapackReloadedEvent}. This
+	 * must be called on the main thread.
+	 *
+	 * @param recipes   the recipes that were registered before the reload
+	 * @param startTime the value of {@link System#nanoTime()} when the reload started
+	 * @param async     whether datapacks were loaded without blocking the main thread
+	 */
+	protected void finishReloadingDataPacks(Iterator<Recipe> recipes, long startTime, boolean async) {
+		int reregisteredRecipes = registerBukkitRecipesSafely(recipes);
+		Duration duration = Duration.ofNanos(System.nanoTime() - startTime);
+
+		CommandAPI.logNormal("Finished reloading datapacks in " + duration.toMillis() + "ms");
+		getItemStackCache().invalidate();
+		functionWrapperCache.invalidate();
+		CommandAPIHandler.getInstance().getParseResultCache().invalidate();
+		Bukkit.getPluginManager().callEvent(new DatapackReloadedEvent(duration, reregisteredRecipes, async));
+		paper.onDatapackReloadFinished();
+	}
+
+	/**
+	 * Logs that reloading datapacks failed. This must be called on the main thread.
+	 *
+	 * @param throwable the reason the reload failed
+	 */
+	protected void failReloadingDataPacks(Throwable throwable) {
+		StringWriter stringWriter = new StringWriter();
+		PrintWriter printWriter = new PrintWriter(stringWriter);
+		throwable.printStackTrace(printWriter);
+
+		CommandAPI.logError(
+			"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
+				+ stringWriter.toString());
+		paper.onDatapackReloadFinished();
 	}
 }
@@ -10,6 +10,11 @@ public class CommandAPIBukkitConfig extends CommandAPIConfig<CommandAPIBukkitCon
 	JavaPlugin plugin;
 	// Default configuration
 	boolean shouldHookPaperReload = true;
+	boolean shouldCacheCommandsPacket = false;
+	int maxCommandTreeResendsPerTick = 100;
+	boolean shouldReloadDatapacksAsync = false;
+	boolean shouldCacheEntitySelectorsPerTick = false;
+	int itemStackCacheSize = 256;
 
 	/**
 	 * Creates a new CommandAPIBukkitConfig object. Variables in this
@@ -35,6 +40,79 @@ public class CommandAPIBukkitConfig extends CommandAPIConfig<CommandAPIBukkitCon
 		return this;
 	}
 
+	/**
+	 * Sets the CommandAPI to share the commands packet between players that have the
+	 * same permissions if true. This makes sending the command tree to many players
+	 * cheaper, but should only be enabled if every command on the server decides who
+	 * can see it using permissions alone. Caching is skipped while any CommandAPI
+	 * command or argument uses a requirement.
+	 *
+	 * @param cache whether the CommandAPI should cache the commands packet
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig cacheCommandsPacket(boolean cache) {
+		this.shouldCacheCommandsPacket = cache;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of players the CommandAPI sends the command tree to in
+	 * one tick when their requirements are updated. Players beyond this limit are
+	 * sent the command tree on the following ticks. A value less than 1 removes the limit.
+	 *
+	 * @param maxResends the maximum number of command tree resends per tick
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig maxCommandTreeResendsPerTick(int maxResends) {
+		this.maxCommandTreeResendsPerTick = maxResends;
+		return this;
+	}
+
+	/**
+	 * Sets the CommandAPI to load datapacks without blocking the main thread when it
+	 * reloads datapacks if true. CommandAPI commands may not work in datapacks for a
+	 * short time after the server starts or {@code /minecraft:reload} is run.
+	 * <p>
+	 * Asynchronous reloads are not atomic. Datapacks are loaded into the server's
+	 * live recipe, tag, loot table and function managers, which apply their changes
+	 * in separate tasks on the main thread over several ticks. Commands that run
+	 * during those ticks may see a mix of the old and new datapacks.
+	 *
+	 * @param async whether the CommandAPI should reload datapacks asynchronously
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig reloadDatapacksAsync(boolean async) {
+		this.shouldReloadDatapacksAsync = async;
+		return this;
+	}
+
+	/**
+	 * Sets the CommandAPI to reuse the entities found by an entity selector if the
+	 * same selector is used again from the same place during the same tick if true.
+	 * Cached results don't include changes made to entities later in that tick.
+	 *
+	 * @param cache whether entity selector results should be cached for a tick
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig cacheEntitySelectorsPerTick(boolean cache) {
+		this.shouldCacheEntitySelectorsPerTick = cache;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of ItemStacks the CommandAPI remembers for item stack
+	 * arguments. When an item stack argument is given the same input again, a copy
+	 * of the remembered ItemStack is used instead of creating it from scratch. A
+	 * value less than 1 disables the cache.
+	 *
+	 * @param size the maximum number of ItemStacks to cache
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig itemStackCacheSize(int size) {
+		this.itemStackCacheSize = size;
+		return this;
+	}
+
 	@Override
 	public CommandAPIBukkitConfig instance() {
 		return this;
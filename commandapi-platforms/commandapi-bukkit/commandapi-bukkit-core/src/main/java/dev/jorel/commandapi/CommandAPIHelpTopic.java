@@ -0,0 +1,67 @@
+package dev.jorel.commandapi;
+
+import java.util.function.Supplier;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.help.HelpTopic;
+
+/**
+ * A help topic for a CommandAPI command. This behaves like CraftBukkit's
+ * CustomHelpTopic, except the full text is only generated the first time it is
+ * needed, since most help topics are never looked at.
+ */
+class CommandAPIHelpTopic extends HelpTopic {
+
+	private final String permissionNode;
+	private Supplier<String> fullTextSupplier;
+
+	/**
+	 * Constructs a CommandAPIHelpTopic
+	 *
+	 * @param name             the name of the help topic, e.g. {@code /mycommand}
+	 * @param shortText        the short description of the command
+	 * @param permissionNode   the permission required to see this help topic, or
+	 *                         an empty string if no permission is required
+	 * @param fullTextSupplier generates the full text, without the short description
+	 */
+	CommandAPIHelpTopic(String name, String shortText, String permissionNode, Supplier<String> fullTextSupplier) {
+		this.name = name;
+		this.shortText = shortText;
+		this.permissionNode = permissionNode;
+		this.fullTextSupplier = fullTextSupplier;
+	}
+
+	// The full text has to exist before it can be amended, or read
+	private synchronized void generateFullText() {
+		if (fullTextSupplier != null) {
+			this.fullText = shortText + "\n" + fullTextSupplier.get();
+			fullTextSupplier = null;
+		}
+	}
+
+	@Override
+	public String getFullText(CommandSender forWho) {
+		generateFullText();
+		return super.getFullText(forWho);
+	}
+
+	@Override
+	public void amendTopic(String amendedShortText, String amendedFullText) {
+		generateFullText();
+		super.amendTopic(amendedShortText, amendedFullText);
+	}
+
+	@Override
+	public boolean canSee(CommandSender sender) {
+		if (sender instanceof ConsoleCommandSender) {
+			return true;
+		}
+
+		if (amendedPermission != null) {
+			return sender.hasPermission(amendedPermission);
+		} else {
+			return permissionNode.isEmpty() || sender.hasPermission(permissionNode);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package dev.jorel.commandapi;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Batches requests to resend the command tree to players. Every request made
+ * during a tick is sent on the next tick, and a player who was requested more
+ * than once is only sent the command tree once. If more players are waiting than
+ * can be sent in one tick, the rest are sent on the following ticks.
+ */
+class CommandTreeResender {
+
+	private final Plugin plugin;
+	private final Consumer<Player> resendPackets;
+	private final int maxResendsPerTick;
+
+	// Players waiting for their command tree to be resent, in the order they were requested
+	private final Set<UUID> pendingPlayers = new LinkedHashSet<>();
+	private BukkitTask flushTask = null;
+
+	/**
+	 * Constructs a CommandTreeResender
+	 *
+	 * @param plugin            the plugin to schedule resends with
+	 * @param resendPackets     the function that sends the command tree to a player
+	 * @param maxResendsPerTick the most players to send the command tree to in one
+	 *                          tick, or a value less than 1 for no limit
+	 */
+	CommandTreeResender(Plugin plugin, Consumer<Player> resendPackets, int maxResendsPerTick) {
+		this.plugin = plugin;
+		this.resendPackets = resendPackets;
+		this.maxResendsPerTick = maxResendsPerTick < 1 ? Integer.MAX_VALUE : maxResendsPerTick;
+	}
+
+	/**
+	 * Schedules the command tree to be resent to a player on the next tick
+	 *
+	 * @param player the player to resend the command tree to
+	 */
+	synchronized void schedule(Player player) {
+		pendingPlayers.add(player.getUniqueId());
+		if (flushTask == null) {
+			flushTask = Bukkit.getScheduler().runTask(plugin, this::flush);
+		}
+	}
+
+	/**
+	 * Resends the command tree to the players that have waited the longest. If
+	 * players are still waiting afterwards, another flush is scheduled for the
+	 * next tick.
+	 */
+	void flush() {
+		List<UUID> players = new ArrayList<>();
+		synchronized (this) {
+			Iterator<UUID> pending = pendingPlayers.iterator();
+			while (pending.hasNext() && players.size() < maxResendsPerTick) {
+				players.add(pending.next());
+				pending.remove();
+			}
+			flushTask = pendingPlayers.isEmpty() ? null : Bukkit.getScheduler().runTask(plugin, this::flush);
+		}
+
+		for (UUID uuid : players) {
+			Player player = Bukkit.getPlayer(uuid);
+			// Players that left since the request don't need updating
+			if (player != null && player.isOnline()) {
+				resendPackets.accept(player);
+			}
+		}
+	}
+}
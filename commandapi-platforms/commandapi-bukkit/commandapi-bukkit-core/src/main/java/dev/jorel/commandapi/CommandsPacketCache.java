@@ -0,0 +1,88 @@
+package dev.jorel.commandapi;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Caches the commands packet sent to players. Which commands a player can see
+ * only depends on their operator status, their permission level and the
+ * permissions that commands check, so players that share all of those receive
+ * the same packet. The cache is only used when no registered command or argument
+ * uses a requirement predicate, since those can depend on anything.
+ *
+ * @param <Packet> the type of the cached packet
+ */
+public class CommandsPacketCache<Packet> {
+
+	/**
+	 * The things that decide which commands a player can see
+	 */
+	private record PermissionProfile(boolean op, int permissionLevel, BitSet permissions) {
+	}
+
+	private final boolean enabled;
+	private final Supplier<Collection<String>> permissionsSupplier;
+	private final Map<PermissionProfile, Packet> packets = new ConcurrentHashMap<>();
+
+	// The permissions that commands check, gathered when the first packet is cached
+	private volatile List<String> trackedPermissions = null;
+
+	/**
+	 * Constructs a CommandsPacketCache
+	 *
+	 * @param enabled             whether packets should be cached at all
+	 * @param permissionsSupplier provides the permissions that are checked by commands
+	 */
+	CommandsPacketCache(boolean enabled, Supplier<Collection<String>> permissionsSupplier) {
+		this.enabled = enabled;
+		this.permissionsSupplier = permissionsSupplier;
+	}
+
+	/**
+	 * @return true if packets can currently be shared between players
+	 */
+	public boolean isEnabled() {
+		return enabled && !CommandAPIHandler.getInstance().hasCustomRequirements();
+	}
+
+	/**
+	 * Returns the packet cached for players with the same permissions as the
+	 * provided player, creating it if nothing has been cached for them yet
+	 *
+	 * @param player          the player to get the packet for
+	 * @param permissionLevel the player's vanilla permission level
+	 * @param createPacket    creates the packet for the provided player
+	 * @return the packet to send to the player
+	 */
+	public Packet getOrCreate(Player player, int permissionLevel, Supplier<Packet> createPacket) {
+		List<String> permissions = trackedPermissions;
+		if (permissions == null) {
+			permissions = new ArrayList<>(permissionsSupplier.get());
+			trackedPermissions = permissions;
+		}
+
+		BitSet granted = new BitSet(permissions.size());
+		for (int i = 0; i < permissions.size(); i++) {
+			if (player.hasPermission(permissions.get(i))) {
+				granted.set(i);
+			}
+		}
+		return packets.computeIfAbsent(new PermissionProfile(player.isOp(), permissionLevel, granted), profile -> createPacket.get());
+	}
+
+	/**
+	 * Forgets every cached packet. This should be called whenever the commands
+	 * on the server change.
+	 */
+	public void invalidate() {
+		trackedPermissions = null;
+		packets.clear();
+	}
+}
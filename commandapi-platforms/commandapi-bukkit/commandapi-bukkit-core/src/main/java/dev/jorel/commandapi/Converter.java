@@ -28,6 +28,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -127,9 +129,12 @@ public final class Converter {
 	private static void convertCommand(String commandName, List<Argument<?>> arguments) {
 		CommandAPI.logInfo("Converting command /" + commandName);
 
+		ConvertedCommand convertedCommand = new ConvertedCommand(commandName,
+			() -> CommandAPIBukkit.get().getSimpleCommandMap().getCommand(commandName));
+
 		// No arguments
 		new CommandAPICommand(commandName).withPermission(CommandPermission.NONE).executesNative((sender, args) -> {
-			Bukkit.dispatchCommand(mergeProxySender(sender), commandName);
+			convertedCommand.execute(mergeProxySender(sender), new String[0]);
 			return;
 		}).register();
 
@@ -139,7 +144,7 @@ public final class Converter {
 					// We know the args are a String[] because that's how converted things are
 					// handled in generateCommand()
 					CommandSender proxiedSender = mergeProxySender(sender);
-					Bukkit.dispatchCommand(proxiedSender, commandName + " " + String.join(" ", (String[]) args.args()));
+					convertedCommand.execute(proxiedSender, (String[]) args.args());
 				});
 
 		multiArgs.setConverted(true);
@@ -192,22 +197,20 @@ public final class Converter {
 			permissionNode = CommandPermission.fromString(permission);
 		}
 		
-		NativeCommandExecutor executor = (sender, args) -> {
+		ConvertedCommand convertedCommand = new ConvertedCommand(commandName, () -> {
 			org.bukkit.command.Command command = plugin.getCommand(commandName);
-			
-			if (command == null) {
-				command = CommandAPIBukkit.get().getSimpleCommandMap()
-						.getCommand(commandName);
-			}
+			return command == null ? CommandAPIBukkit.get().getSimpleCommandMap().getCommand(commandName) : command;
+		});
 
+		NativeCommandExecutor executor = (sender, args) -> {
 			CommandSender proxiedSender = CommandAPI.getConfiguration().shouldSkipSenderProxy(plugin.getName())
 					? sender.getCallee()
 					: mergeProxySender(sender);
 
 			if (args.args() instanceof String[] argsArr) {
-				command.execute(proxiedSender, commandName, argsArr);
+				convertedCommand.execute(proxiedSender, argsArr);
 			} else {
-				command.execute(proxiedSender, commandName, new String[0]);
+				convertedCommand.execute(proxiedSender, new String[0]);
 			}
 		};
 
@@ -230,47 +233,117 @@ public final class Converter {
 			.register();
 	}
 
+	// Incremented whenever commands may have been added to or removed from Bukkit's command map
+	private static volatile int commandMapVersion = 0;
+
+	/**
+	 * Tells converted commands to look up their Bukkit command again the next
+	 * time they are run. This should be called when a plugin is enabled or disabled.
+	 */
+	static void onCommandMapChanged() {
+		commandMapVersion++;
+	}
+
+	/*
+	 * A Bukkit command that has been converted. The Bukkit command is looked up
+	 * once and then run directly with the arguments Brigadier has already split up,
+	 * instead of joining them into a command line for Bukkit to split up again
+	 */
+	private static final class ConvertedCommand {
+		private final String commandName;
+		private final Supplier<org.bukkit.command.Command> lookup;
+
+		private org.bukkit.command.Command command = null;
+		private int version = -1;
+
+		ConvertedCommand(String commandName, Supplier<org.bukkit.command.Command> lookup) {
+			this.commandName = commandName;
+			this.lookup = lookup;
+		}
+
+		void execute(CommandSender sender, String[] args) {
+			if (version != commandMapVersion) {
+				version = commandMapVersion;
+				command = lookup.get();
+			}
+
+			if (command == null) {
+				// Not in Bukkit's command map, so let the server find it
+				Bukkit.dispatchCommand(sender, args.length == 0 ? commandName : commandName + " " + String.join(" ", args));
+			} else {
+				command.execute(sender, commandName, args);
+			}
+		}
+	}
+
 	/*
 	 * https://www.jorel.dev/blog/Simplifying-Bukkit-CommandSenders/
 	 */
 	private static CommandSender mergeProxySender(NativeProxyCommandSender proxySender) {
-		// Add all interfaces
-		Set<Class<?>> calleeInterfacesList = new HashSet<>();
-		Class<?> currentClass = proxySender.getCallee().getClass();
-		if (currentClass.isInterface()) {
-			calleeInterfacesList.add(currentClass);
+		// The JDK caches the proxy class for each set of interfaces, so all we
+		// need to create here is the handler for this sender
+		Class<?>[] calleeInterfaces = CALLEE_INTERFACES.get(proxySender.getCallee().getClass());
+		return (CommandSender) Proxy.newProxyInstance(CommandSender.class.getClassLoader(), calleeInterfaces, new ProxySenderHandler(proxySender));
+	}
+
+	// The interfaces a merged proxy sender implements, for each callee class
+	private static final ClassValue<Class<?>[]> CALLEE_INTERFACES = new ClassValue<>() {
+		@Override
+		protected Class<?>[] computeValue(Class<?> calleeClass) {
+			// Add all interfaces
+			Set<Class<?>> calleeInterfacesList = new HashSet<>();
+			Class<?> currentClass = calleeClass;
+			if (currentClass.isInterface()) {
+				calleeInterfacesList.add(currentClass);
+			}
+			while (currentClass != null) {
+				calleeInterfacesList.addAll(Arrays.asList(currentClass.getInterfaces()));
+				currentClass = currentClass.getSuperclass();
+			}
+			return calleeInterfacesList.toArray(new Class<?>[0]);
 		}
-		while (currentClass != null) {
-			calleeInterfacesList.addAll(Arrays.asList(currentClass.getInterfaces()));
-			currentClass = currentClass.getSuperclass();
+	};
+
+	// Where each method called on a merged proxy sender is sent. Proxies pass the
+	// same Method instances every time, so this is only worked out once per method
+	private static final Map<Method, ProxyTarget> PROXY_TARGETS = new ConcurrentHashMap<>();
+
+	private enum ProxyTarget {
+		LOCATION, BLOCK, EYE_LOCATION, WORLD, CALLER, CALLEE;
+
+		static ProxyTarget of(Method method) {
+			return switch (method.getName()) {
+				case "getLocation" -> LOCATION;
+				case "getBlock" -> BLOCK;
+				case "getEyeLocation" -> EYE_LOCATION;
+				case "getWorld" -> WORLD;
+				default -> CALLER_METHODS.contains(method.getName()) ? CALLER : CALLEE;
+			};
 		}
-		Class<?>[] calleeInterfaces = calleeInterfacesList.toArray(new Class<?>[0]);
-
-		InvocationHandler handler = (Object p, Method method, Object[] args) -> {
-			switch(method.getName()) {
-				case "getLocation":
-					return proxySender.getLocation();
-				case "getBlock":
-					return proxySender.getLocation().getBlock();
-				case "getEyeLocation":
-					if(proxySender.getCallee() instanceof LivingEntity livingEntity) {
+	}
+
+	private record ProxySenderHandler(NativeProxyCommandSender proxySender) implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			return switch (PROXY_TARGETS.computeIfAbsent(method, ProxyTarget::of)) {
+				case LOCATION -> proxySender.getLocation();
+				case BLOCK -> proxySender.getLocation().getBlock();
+				case EYE_LOCATION -> {
+					if (proxySender.getCallee() instanceof LivingEntity livingEntity) {
 						Location loc = proxySender.getLocation();
 						loc.setY(loc.getY() + livingEntity.getEyeHeight());
-						return loc;
+						yield loc;
 					} else {
 						// This case should never happen. If it does, please let me know!
-						return proxySender.getLocation();
+						yield proxySender.getLocation();
 					}
-				case "getWorld":
-					return proxySender.getWorld();
-				default:
-					return method.invoke(
-							CALLER_METHODS.contains(method.getName()) ? proxySender.getCaller() : proxySender.getCallee(),
-							args);
-			}
-		};
-
-		return (CommandSender) Proxy.newProxyInstance(CommandSender.class.getClassLoader(), calleeInterfaces, handler);
+				}
+				case WORLD -> proxySender.getWorld();
+				case CALLER -> method.invoke(proxySender.getCaller(), args);
+				case CALLEE -> method.invoke(proxySender.getCallee(), args);
+			};
+		}
 	}
 
 }
@@ -0,0 +1,65 @@
+package dev.jorel.commandapi;
+
+import java.time.Duration;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Called on the main thread when the CommandAPI has finished reloading
+ * datapacks, either on startup, when {@link CommandAPI#reloadDatapacks()} is
+ * called or when {@code /minecraft:reload} is run on Paper servers.
+ */
+public class DatapackReloadedEvent extends Event {
+
+	private static final HandlerList HANDLERS = new HandlerList();
+
+	private final Duration duration;
+	private final int reregisteredRecipes;
+	private final boolean async;
+
+	/**
+	 * Constructs a DatapackReloadedEvent
+	 *
+	 * @param duration            how long the reload took
+	 * @param reregisteredRecipes the number of Bukkit recipes that were registered
+	 *                            again after the reload
+	 * @param async               whether datapacks were loaded without blocking the
+	 *                            main thread
+	 */
+	public DatapackReloadedEvent(Duration duration, int reregisteredRecipes, boolean async) {
+		this.duration = duration;
+		this.reregisteredRecipes = reregisteredRecipes;
+		this.async = async;
+	}
+
+	/**
+	 * @return how long it took from starting the reload to applying the reloaded datapacks
+	 */
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @return the number of Bukkit recipes that were registered again after the reload
+	 */
+	public int getReregisteredRecipes() {
+		return reregisteredRecipes;
+	}
+
+	/**
+	 * @return true if datapacks were loaded without blocking the main thread
+	 */
+	public boolean isAsync() {
+		return async;
+	}
+
+	@Override
+	public HandlerList getHandlers() {
+		return HANDLERS;
+	}
+
+	public static HandlerList getHandlerList() {
+		return HANDLERS;
+	}
+}
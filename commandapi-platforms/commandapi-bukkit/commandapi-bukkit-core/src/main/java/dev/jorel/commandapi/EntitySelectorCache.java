@@ -0,0 +1,122 @@
+package dev.jorel.commandapi;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import dev.jorel.commandapi.arguments.ArgumentSubType;
+
+/**
+ * Remembers the entities found by entity selectors for the rest of the current
+ * tick. Command blocks often run the same selector from the same place many
+ * times in a tick, and each of those would otherwise search every loaded entity
+ * again. Results are only cached on the main thread, and are forgotten at the
+ * start of the next tick.
+ */
+public class EntitySelectorCache {
+
+	/**
+	 * Finds the entities selected by an entity selector
+	 */
+	@FunctionalInterface
+	public interface EntityLookup {
+		Object find() throws CommandSyntaxException;
+	}
+
+	/**
+	 * Everything that decides which entities a selector finds. The world, position
+	 * and entity are the NMS objects of the command source.
+	 */
+	private record Key(String selector, ArgumentSubType subType, Object world, Object position, Object entity) {
+	}
+
+	private final Plugin plugin;
+	private final boolean enabled;
+
+	// Only accessed on the main thread
+	private final Map<Key, Object> results = new HashMap<>();
+
+	/**
+	 * Constructs an EntitySelectorCache
+	 *
+	 * @param plugin  the plugin to schedule clearing the cache with
+	 * @param enabled whether selector results should be cached at all
+	 */
+	EntitySelectorCache(Plugin plugin, boolean enabled) {
+		this.plugin = plugin;
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns the entities that an entity selector found earlier this tick from the
+	 * same place, or finds them if they haven't been found yet. Lists of entities
+	 * are cached as unmodifiable lists.
+	 *
+	 * @param cmdCtx   the command context containing the entity selector
+	 * @param key      the name of the entity selector argument
+	 * @param subType  the type of the entity selector argument
+	 * @param world    the world of the command source
+	 * @param position the position of the command source
+	 * @param entity   the entity of the command source, or null if there isn't one
+	 * @param lookup   finds the entities if they haven't been cached
+	 * @return the entities selected by the entity selector
+	 * @throws CommandSyntaxException if the entities couldn't be found
+	 */
+	public Object getOrFind(CommandContext<?> cmdCtx, String key, ArgumentSubType subType, Object world, Object position, Object entity,
+		EntityLookup lookup) throws CommandSyntaxException {
+		if (!enabled || !Bukkit.isPrimaryThread()) {
+			return lookup.find();
+		}
+
+		String selector = CommandAPIHandler.getRawArgumentInput(cmdCtx, key);
+		// The raw input is unknown for redirected commands, and random selectors
+		// should pick again every time they are used
+		if (selector.isEmpty() || isRandom(selector)) {
+			return lookup.find();
+		}
+
+		Key cacheKey = new Key(selector, subType, world, position, entity);
+		Object result = results.get(cacheKey);
+		if (result == null) {
+			result = lookup.find();
+			if (result instanceof List<?> list) {
+				result = List.copyOf(list);
+			}
+
+			if (results.isEmpty()) {
+				Bukkit.getScheduler().runTask(plugin, results::clear);
+			}
+			results.put(cacheKey, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether an entity selector picks its entities randomly. Selector
+	 * options may have whitespace around their {@code =}, such as
+	 * {@code @e[sort = random]}, so it is ignored when looking for the sort option.
+	 */
+	private static boolean isRandom(String selector) {
+		if (selector.startsWith("@r")) {
+			return true;
+		}
+		if (!selector.contains("random")) {
+			return false;
+		}
+
+		StringBuilder withoutWhitespace = new StringBuilder(selector.length());
+		for (int i = 0; i < selector.length(); i++) {
+			char c = selector.charAt(i);
+			if (!Character.isWhitespace(c)) {
+				withoutWhitespace.append(c);
+			}
+		}
+		return withoutWhitespace.indexOf("sort=random") != -1;
+	}
+}
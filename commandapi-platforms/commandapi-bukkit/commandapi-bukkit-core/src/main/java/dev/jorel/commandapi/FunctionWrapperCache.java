@@ -0,0 +1,56 @@
+package dev.jorel.commandapi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import dev.jorel.commandapi.wrappers.SimpleFunctionWrapper;
+
+/**
+ * Caches the SimpleFunctionWrappers that Minecraft functions are converted
+ * into. Function arguments are often run every tick, and converting a function
+ * each time creates a new wrapper for it. The cache is cleared when datapacks
+ * are reloaded.
+ */
+public class FunctionWrapperCache {
+
+	/**
+	 * A converted function, along with the NMS function it was converted from
+	 */
+	private record Entry(Object function, SimpleFunctionWrapper wrapper) {
+	}
+
+	private final Map<Object, Entry> wrappers = new ConcurrentHashMap<>();
+
+	FunctionWrapperCache() {
+	}
+
+	/**
+	 * Returns the SimpleFunctionWrapper cached for the provided function, converting
+	 * and caching it if it hasn't been converted yet
+	 *
+	 * @param <F>        the type of the NMS function
+	 * @param id         the NMS id of the function
+	 * @param function   the NMS function
+	 * @param converter  converts the NMS function into a SimpleFunctionWrapper
+	 * @return the SimpleFunctionWrapper for the provided function
+	 */
+	public <F> SimpleFunctionWrapper getOrConvert(Object id, F function, Function<F, SimpleFunctionWrapper> converter) {
+		Entry entry = wrappers.get(id);
+		// Functions are replaced by new objects when they are reloaded, so the
+		// wrapper is only reused if it still runs the same function
+		if (entry == null || entry.function() != function) {
+			entry = new Entry(function, converter.apply(function));
+			wrappers.put(id, entry);
+		}
+		return entry.wrapper();
+	}
+
+	/**
+	 * Forgets every converted function. This is called when
+	 * datapacks are reloaded, since functions may have changed.
+	 */
+	public void invalidate() {
+		wrappers.clear();
+	}
+}
@@ -15,6 +15,21 @@ public class InternalBukkitConfig extends InternalConfig {
 	// Whether to hook into paper's reload event to reload datapacks when /minecraft:reload is run
 	private final boolean shouldHookPaperReload;
 
+	// Whether to share the commands packet between players with the same permissions
+	private final boolean shouldCacheCommandsPacket;
+
+	// The maximum number of players to resend the command tree to in one tick
+	private final int maxCommandTreeResendsPerTick;
+
+	// Whether to load datapacks without blocking the main thread
+	private final boolean shouldReloadDatapacksAsync;
+
+	// Whether to reuse entity selector results for the rest of a tick
+	private final boolean shouldCacheEntitySelectorsPerTick;
+
+	// The maximum number of ItemStacks to cache for item stack arguments
+	private final int itemStackCacheSize;
+
 	/**
 	 * Creates an {@link InternalBukkitConfig} from a {@link CommandAPIBukkitConfig}
 	 *
@@ -24,6 +39,11 @@ public class InternalBukkitConfig extends InternalConfig {
 		super(config);
 		this.plugin = config.plugin;
 		this.shouldHookPaperReload = config.shouldHookPaperReload;
+		this.shouldCacheCommandsPacket = config.shouldCacheCommandsPacket;
+		this.maxCommandTreeResendsPerTick = config.maxCommandTreeResendsPerTick;
+		this.shouldReloadDatapacksAsync = config.shouldReloadDatapacksAsync;
+		this.shouldCacheEntitySelectorsPerTick = config.shouldCacheEntitySelectorsPerTick;
+		this.itemStackCacheSize = config.itemStackCacheSize;
 	}
 
 	/**
@@ -41,4 +61,42 @@ public class InternalBukkitConfig extends InternalConfig {
 	public boolean shouldHookPaperReload() {
 		return shouldHookPaperReload;
 	}
+
+	/**
+	 * @return Whether the CommandAPI should share the commands packet between players
+	 * that have the same permissions
+	 */
+	public boolean shouldCacheCommandsPacket() {
+		return shouldCacheCommandsPacket;
+	}
+
+	/**
+	 * @return The maximum number of players to resend the command tree to in one tick,
+	 * or a value less than 1 if there is no limit
+	 */
+	public int getMaxCommandTreeResendsPerTick() {
+		return maxCommandTreeResendsPerTick;
+	}
+
+	/**
+	 * @return Whether the CommandAPI should load datapacks without blocking the main thread
+	 */
+	public boolean shouldReloadDatapacksAsync() {
+		return shouldReloadDatapacksAsync;
+	}
+
+	/**
+	 * @return Whether the CommandAPI should reuse entity selector results for the rest of a tick
+	 */
+	public boolean shouldCacheEntitySelectorsPerTick() {
+		return shouldCacheEntitySelectorsPerTick;
+	}
+
+	/**
+	 * @return The maximum number of ItemStacks to cache for item stack arguments,
+	 * or a value less than 1 if they shouldn't be cached
+	 */
+	public int getItemStackCacheSize() {
+		return itemStackCacheSize;
+	}
 }
@@ -0,0 +1,118 @@
+package dev.jorel.commandapi;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bukkit.inventory.ItemStack;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * Caches the ItemStacks created by item stack arguments, using the raw input of
+ * the argument as the key. Creating an ItemStack from its input converts all of
+ * its NBT into item meta, while copying a cached ItemStack is much cheaper. The
+ * cached ItemStacks are never given out, only copies of them. When the cache is
+ * full, the least recently used ItemStack is forgotten.
+ */
+public class ItemStackCache {
+
+	/**
+	 * Creates an ItemStack from an item stack argument
+	 */
+	@FunctionalInterface
+	public interface ItemStackFactory {
+		ItemStack create() throws CommandSyntaxException;
+	}
+
+	private final int maxSize;
+	private final Map<String, ItemStack> prototypes;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructs an ItemStackCache
+	 *
+	 * @param maxSize the most ItemStacks to cache, or a value less than 1 to cache nothing
+	 */
+	ItemStackCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.prototypes = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ItemStack> eldest) {
+				return size() > ItemStackCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * @return true if ItemStacks are cached at all
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Returns a copy of the ItemStack cached for the provided input, creating and
+	 * caching it if it hasn't been cached yet
+	 *
+	 * @param input   the raw input of the item stack argument
+	 * @param factory creates the ItemStack if it isn't cached
+	 * @return a new ItemStack for the provided input
+	 * @throws CommandSyntaxException if the ItemStack couldn't be created
+	 */
+	public ItemStack getOrCreate(String input, ItemStackFactory factory) throws CommandSyntaxException {
+		// The raw input is unknown for redirected commands
+		if (!isEnabled() || input.isEmpty()) {
+			return factory.create();
+		}
+
+		synchronized (this) {
+			ItemStack prototype = prototypes.get(input);
+			if (prototype != null) {
+				hits++;
+				return prototype.clone();
+			}
+			misses++;
+		}
+
+		ItemStack result = factory.create();
+		synchronized (this) {
+			prototypes.put(input, result.clone());
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of times a cached ItemStack was copied
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of times an ItemStack had to be created
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return the fraction of requests that were served from the cache, between 0 and 1
+	 */
+	public synchronized double getHitRate() {
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	/**
+	 * Forgets every cached ItemStack. This is called when datapacks are reloaded,
+	 * since items may be created differently afterwards.
+	 */
+	public synchronized void invalidate() {
+		if (isEnabled() && hits + misses > 0) {
+			CommandAPI.logInfo(String.format("ItemStack cache: %d hits, %d misses (%.1f%% hit rate)", hits, misses, getHitRate() * 100));
+		}
+		prototypes.clear();
+	}
+}
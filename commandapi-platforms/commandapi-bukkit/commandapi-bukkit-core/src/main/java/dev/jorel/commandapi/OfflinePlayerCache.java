@@ -0,0 +1,131 @@
+package dev.jorel.commandapi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Remembers the UUIDs of players by their names, so that offline players can be
+ * found without looking up their profiles. Players are remembered when they join
+ * or leave the server, and when their profile is looked up. Profiles are looked
+ * up with a {@link ProfileSource}, which by default looks them up on an
+ * asynchronous task. When the cache is full, the least recently used name is
+ * forgotten.
+ */
+public class OfflinePlayerCache {
+
+	/**
+	 * Looks up the UUID of a player by their name
+	 */
+	@FunctionalInterface
+	public interface ProfileSource {
+
+		/**
+		 * Looks up the UUID of a player. This is called on the thread that runs the
+		 * command, which is usually the main thread, so it should not block. The
+		 * returned future may be completed on any thread.
+		 *
+		 * @param name the name of the player
+		 * @return a future that completes with the UUID of the player, or with null
+		 * if there is no player with that name
+		 */
+		CompletableFuture<UUID> lookupId(String name);
+	}
+
+	private static final int MAX_SIZE = 1024;
+
+	private final Map<String, UUID> ids = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	private volatile ProfileSource profileSource;
+
+	/**
+	 * Constructs an OfflinePlayerCache. Profiles are looked up on asynchronous
+	 * tasks scheduled with the CommandAPI's plugin.
+	 */
+	OfflinePlayerCache() {
+		this.profileSource = name -> {
+			CompletableFuture<UUID> future = new CompletableFuture<>();
+			Bukkit.getScheduler().runTaskAsynchronously(CommandAPIBukkit.getConfiguration().getPlugin(), () -> {
+				try {
+					// Looks up the profile if the player isn't known to the server
+					@SuppressWarnings("deprecation")
+					OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+
+					// When there is no profile for the name, Bukkit makes up an offline
+					// mode UUID instead of failing
+					UUID offlineId = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+					if (player.hasPlayedBefore() || !player.getUniqueId().equals(offlineId)) {
+						future.complete(player.getUniqueId());
+					} else {
+						future.complete(null);
+					}
+				} catch (Throwable t) {
+					future.completeExceptionally(t);
+				}
+			});
+			return future;
+		};
+	}
+
+	/**
+	 * Sets where the UUIDs of players that aren't cached are looked up
+	 *
+	 * @param profileSource the new profile source
+	 */
+	public void setProfileSource(ProfileSource profileSource) {
+		this.profileSource = profileSource;
+	}
+
+	/**
+	 * Remembers the UUID of a player
+	 *
+	 * @param name the name of the player
+	 * @param id   the UUID of the player
+	 */
+	public synchronized void remember(String name, UUID id) {
+		ids.put(name.toLowerCase(Locale.ROOT), id);
+	}
+
+	/**
+	 * Returns the UUID of a player if it is cached
+	 *
+	 * @param name the name of the player
+	 * @return the UUID of the player, or null if it isn't cached
+	 */
+	public synchronized UUID getCachedId(String name) {
+		return ids.get(name.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Returns the UUID of a player, looking it up with the profile source if it
+	 * isn't cached. UUIDs that are looked up are cached.
+	 *
+	 * @param name the name of the player
+	 * @return a future that completes with the UUID of the player, or with null if
+	 * there is no player with that name. Names without a player aren't cached. The
+	 * future may be completed on another thread.
+	 */
+	public CompletableFuture<UUID> lookupId(String name) {
+		UUID cachedId = getCachedId(name);
+		if (cachedId != null) {
+			return CompletableFuture.completedFuture(cachedId);
+		}
+		return profileSource.lookupId(name).thenApply(id -> {
+			if (id != null) {
+				remember(name, id);
+			}
+			return id;
+		});
+	}
+}
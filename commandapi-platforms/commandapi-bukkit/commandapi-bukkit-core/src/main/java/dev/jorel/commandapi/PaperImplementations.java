@@ -5,15 +5,29 @@ import org.bukkit.command.CommandMap;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
 import dev.jorel.commandapi.nms.NMS;
 import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
 
 public class PaperImplementations {
 
+	// How long to wait for more reload requests before reloading datapacks
+	private static final long RELOAD_DEBOUNCE_TICKS = 10L;
+
 	private final boolean isPaperPresent;
 	private final NMS<?> nmsInstance;
 
+	// Reload requests are coalesced. Requests made within RELOAD_DEBOUNCE_TICKS of
+	// each other result in one reload, and any number of requests made while a
+	// reload is running result in one follow-up reload
+	private Plugin plugin;
+	private BukkitTask scheduledReload = null;
+	private boolean reloadInProgress = false;
+	private boolean reloadRequestedDuringReload = false;
+	private boolean asyncReloadStarted = false;
+	private int elidedReloads = 0;
+
 	/**
 	 * Constructs a PaperImplementations object
 	 * 
@@ -33,13 +47,14 @@ public class PaperImplementations {
 	 * @param plugin the plugin that the CommandAPI is being used from
 	 */
 	public void registerReloadHandler(Plugin plugin) {
+		this.plugin = plugin;
 		if (isPaperPresent && CommandAPIBukkit.getConfiguration().shouldHookPaperReload()) {
 			Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
 
 				@EventHandler
 				public void onServerReloadResources(ServerResourcesReloadedEvent event) {
 					CommandAPI.logNormal("/minecraft:reload detected. Reloading CommandAPI commands!");
-					nmsInstance.reloadDataPacks();
+					requestReload();
 				}
 
 			}, plugin);
@@ -49,6 +64,101 @@ public class PaperImplementations {
 		}
 	}
 
+	/**
+	 * Requests that datapacks are reloaded. The reload is delayed slightly so that
+	 * requests made in quick succession only reload datapacks once.
+	 */
+	void requestReload() {
+		if (reloadInProgress) {
+			// Only one follow-up reload is needed, however many requests are made
+			if (reloadRequestedDuringReload) {
+				elideReload();
+			}
+			reloadRequestedDuringReload = true;
+			return;
+		}
+
+		if (scheduledReload != null) {
+			// Restart the debounce window
+			scheduledReload.cancel();
+			elideReload();
+		}
+		scheduledReload = Bukkit.getScheduler().runTaskLater(plugin, this::runReload, RELOAD_DEBOUNCE_TICKS);
+	}
+
+	/**
+	 * Reloads datapacks straight away, unless a reload is already running. In that
+	 * case, one more reload happens once it has finished, as with {@link #requestReload()}.
+	 */
+	void reloadNow() {
+		if (reloadInProgress) {
+			requestReload();
+			return;
+		}
+
+		if (scheduledReload != null) {
+			// Reloading now makes the scheduled reload redundant
+			scheduledReload.cancel();
+			elideReload();
+		}
+		runReload();
+	}
+
+	private void elideReload() {
+		elidedReloads++;
+		if (CommandAPI.getConfiguration().hasVerboseOutput()) {
+			CommandAPI.logInfo("Skipped a redundant datapack reload (" + elidedReloads + " skipped in total)");
+		}
+	}
+
+	private void runReload() {
+		scheduledReload = null;
+		reloadInProgress = true;
+		asyncReloadStarted = false;
+		try {
+			nmsInstance.reloadDataPacks();
+		} finally {
+			// Async reloads call onDatapackReloadFinished once they've been applied.
+			// Otherwise the reload is over, even if reloadDataPacks threw an exception
+			if (!asyncReloadStarted) {
+				onDatapackReloadFinished();
+			}
+		}
+	}
+
+	/**
+	 * Called when datapacks will carry on loading after reloadDataPacks returns.
+	 * {@link #onDatapackReloadFinished()} must be called once they've loaded.
+	 */
+	void onAsyncDatapackReloadStarted() {
+		asyncReloadStarted = true;
+	}
+
+	/**
+	 * Called when datapacks have finished reloading, whether or not the reload
+	 * succeeded. If more reloads were requested while datapacks were reloading,
+	 * one more reload is scheduled.
+	 */
+	void onDatapackReloadFinished() {
+		if (!reloadInProgress) {
+			return;
+		}
+		reloadInProgress = false;
+
+		if (reloadRequestedDuringReload) {
+			reloadRequestedDuringReload = false;
+			requestReload();
+		}
+	}
+
+	/**
+	 * @return the number of datapack reload requests that were skipped because
+	 * another reload was already going to happen
+	 */
+	public int getElidedReloads() {
+		return elidedReloads;
+	}
+
 	/**
 	 * @return Bukkit's {@link CommandMap}
 	 */
@@ -0,0 +1,73 @@
+package dev.jorel.commandapi;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Indexes the players that are online by their names, ignoring case. Players are
+ * added when they join the server and removed when they leave. Suggestions may be
+ * generated off the main thread, so the index can be read from any thread.
+ */
+public class PlayerNameIndex {
+
+	private final ConcurrentNavigableMap<String, Player> players = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Constructs an empty PlayerNameIndex
+	 */
+	PlayerNameIndex() {
+	}
+
+	/**
+	 * Adds a player to the index
+	 *
+	 * @param player the player that joined
+	 */
+	public void add(Player player) {
+		players.put(toKey(player.getName()), player);
+	}
+
+	/**
+	 * Removes a player from the index
+	 *
+	 * @param player the player that left
+	 */
+	public void remove(Player player) {
+		// Another player with the same name may have replaced this one already
+		players.remove(toKey(player.getName()), player);
+	}
+
+	/**
+	 * Returns the online player with the given name, ignoring case
+	 *
+	 * @param name the name of the player
+	 * @return the player, or null if there is no online player with that name
+	 */
+	public Player getPlayer(String name) {
+		Player player = players.get(toKey(name));
+		return player == null || !player.isOnline() ? null : player;
+	}
+
+	/**
+	 * Returns the online players whose names start with the given prefix, ignoring
+	 * case. The players are sorted by their names.
+	 *
+	 * @param prefix the start of the players' names
+	 * @return a view of the players whose names start with the prefix
+	 */
+	public Collection<Player> getPlayersStartingWith(String prefix) {
+		if (prefix.isEmpty()) {
+			return players.values();
+		}
+		String key = toKey(prefix);
+		return players.subMap(key, true, key + Character.MAX_VALUE, false).values();
+	}
+
+	private static String toKey(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,90 @@
+package dev.jorel.commandapi.arguments;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.executors.CommandArguments;
+
+/**
+ * An argument that represents the Bukkit OfflinePlayer object, like the
+ * {@link OfflinePlayerArgument}. Instead of looking up the player's profile
+ * while the command runs, this argument returns a future that completes when the
+ * player has been found. Players that are online or have recently been seen are
+ * found straight away, and other players are looked up without blocking the main
+ * thread. The future is completed on the main thread, or exceptionally with a
+ * {@link CommandSyntaxException} if there is no player with the given name.
+ *
+ * @since 9.0.0
+ *
+ * @apiNote Returns a {@link CompletableFuture} of an {@link OfflinePlayer}
+ */
+@SuppressWarnings("rawtypes")
+public class AsyncOfflinePlayerArgument extends SafeOverrideableArgument<CompletableFuture, OfflinePlayer> {
+
+	private static final SimpleCommandExceptionType UNKNOWN_PLAYER = new SimpleCommandExceptionType(new LiteralMessage("That player does not exist"));
+
+	/**
+	 * An OfflinePlayer argument that is looked up asynchronously
+	 *
+	 * @param nodeName the name of the node for this argument
+	 */
+	public AsyncOfflinePlayerArgument(String nodeName) {
+		super(nodeName, CommandAPIBukkit.get()._ArgumentProfile(), OfflinePlayer::getName);
+	}
+
+	@Override
+	public Class<CompletableFuture> getPrimitiveType() {
+		return CompletableFuture.class;
+	}
+
+	@Override
+	public CommandAPIArgumentType getArgumentType() {
+		return CommandAPIArgumentType.OFFLINE_PLAYER;
+	}
+
+	@Override
+	public <CommandSourceStack> CompletableFuture<OfflinePlayer> parseArgument(CommandContext<CommandSourceStack> cmdCtx, String key, CommandArguments previousArgs) throws CommandSyntaxException {
+		String input = CommandAPIHandler.getRawArgumentInput(cmdCtx, key);
+
+		// Entity selectors only select online players, so they never need a lookup.
+		// The raw input is unknown for redirected commands
+		if (input.isEmpty() || input.startsWith("@")) {
+			return CompletableFuture.completedFuture(CommandAPIBukkit.<CommandSourceStack>get().getOfflinePlayer(cmdCtx, key));
+		}
+
+		Player onlinePlayer = Bukkit.getPlayerExact(input);
+		if (onlinePlayer != null) {
+			return CompletableFuture.completedFuture(onlinePlayer);
+		}
+
+		Function<UUID, OfflinePlayer> toPlayer = id -> {
+			if (id == null) {
+				throw new CompletionException(UNKNOWN_PLAYER.create());
+			}
+			return Bukkit.getOfflinePlayer(id);
+		};
+
+		// Profiles may be found on another thread, so the player is created back on
+		// the main thread, unless the profile was already known
+		CompletableFuture<UUID> lookup = CommandAPIBukkit.get().getOfflinePlayerCache().lookupId(input);
+		if (lookup.isDone() && Bukkit.isPrimaryThread()) {
+			return lookup.thenApply(toPlayer);
+		}
+		Executor mainThread = task -> Bukkit.getScheduler().runTask(CommandAPIBukkit.getConfiguration().getPlugin(), task);
+		return lookup.thenApplyAsync(toPlayer, mainThread);
+	}
+}
@@ -35,7 +35,7 @@ import java.util.function.Function;
  * 
  * @apiNote Returns a {@link Biome} object
  */
-public class BiomeArgument extends SafeOverrideableArgument<Biome, Biome> implements CustomProvidedArgument {
+public class BiomeArgument extends SafeOverrideableArgument<Biome, Biome> implements CustomProvidedArgument, CacheableArgument<Biome> {
 
 	/**
 	 * Constructs a BiomeArgument with a given node name.
@@ -73,7 +73,7 @@ public class BiomeArgument extends SafeOverrideableArgument<Biome, Biome> implem
 	 *
 	 * @apiNote Returns a {@link NamespacedKey} object
 	 */
-	public static class NamespacedKey extends SafeOverrideableArgument<org.bukkit.NamespacedKey, org.bukkit.NamespacedKey> implements CustomProvidedArgument {
+	public static class NamespacedKey extends SafeOverrideableArgument<org.bukkit.NamespacedKey, org.bukkit.NamespacedKey> implements CustomProvidedArgument, CacheableArgument<org.bukkit.NamespacedKey> {
 
 		/**
 		 * Constructs a BiomeArgument with a given node name. This BiomeArgument will
@@ -34,7 +34,7 @@ import org.bukkit.block.data.BlockData;
  * @apiNote Returns a {@link BlockData} object
  * 
  */
-public class BlockStateArgument extends Argument<BlockData> {
+public class BlockStateArgument extends Argument<BlockData> implements CacheableArgument<BlockData> {
 
 	/**
 	 * Constructs a BlockStateArgument with a given node name.
@@ -60,4 +60,10 @@ public class BlockStateArgument extends Argument<BlockData> {
 			throws CommandSyntaxException {
 		return CommandAPIBukkit.<CommandSourceStack>get().getBlockState(cmdCtx, key);
 	}
+
+	@Override
+	public BlockData copyCachedValue(BlockData cachedValue) {
+		// BlockData can be changed, so each command gets its own copy
+		return cachedValue.clone();
+	}
 }
@@ -51,7 +51,8 @@ public class CommandArgument extends Argument<CommandResult> implements GreedyAr
 			// Setup context for errors
 			StringReader context = new StringReader(command);
 
-			if (!command.contains(" ")) {
+			int labelEnd = command.indexOf(" ");
+			if (labelEnd == -1) {
 				// Suggesting command name
 				ArgumentSuggestions<CommandSender> replacement = replacements.getNextSuggestion(sender);
 				if (replacement != null) {
@@ -80,7 +81,7 @@ public class CommandArgument extends Argument<CommandResult> implements GreedyAr
 
 
 			// Verify commandLabel
-			String commandLabel = command.substring(0, command.indexOf(" "));
+			String commandLabel = command.substring(0, labelEnd);
 			Command target = commandMap.getCommand(commandLabel);
 			if (target == null) {
 				throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand().createWithContext(context);
@@ -108,9 +109,10 @@ public class CommandArgument extends Argument<CommandResult> implements GreedyAr
 			arguments = Arrays.copyOfRange(arguments, 1, arguments.length);
 
 			// Get location sender is looking at if they are a Player, matching vanilla behavior
-			// No builtin Commands use the location parameter, but they could
+			// No builtin Commands use the location parameter, but they could. Finding the
+			// block is a ray trace, so it is skipped for commands that ignore the location
 			Location location = null;
-			if (sender instanceof Player player) {
+			if (sender instanceof Player player && USES_TAB_COMPLETE_LOCATION.get(target.getClass())) {
 				Block block = player.getTargetBlockExact(5, FluidCollisionMode.NEVER);
 				if (block != null) {
 					location = block.getLocation();
@@ -125,6 +127,19 @@ public class CommandArgument extends Argument<CommandResult> implements GreedyAr
 		});
 	}
 
+	// Whether each class of command may use the location given to Command#tabComplete.
+	// The default implementation of that method ignores the location
+	private static final ClassValue<Boolean> USES_TAB_COMPLETE_LOCATION = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return type.getMethod("tabComplete", CommandSender.class, String.class, String[].class, Location.class).getDeclaringClass() != Command.class;
+			} catch (NoSuchMethodException e) {
+				return true;
+			}
+		}
+	};
+
 	SuggestionsBranch<CommandSender> replacements = SuggestionsBranch.suggest();
 
 	/**
@@ -33,7 +33,7 @@ import org.bukkit.enchantments.Enchantment;
  * 
  * @apiNote Returns an {@link Enchantment} object
  */
-public class EnchantmentArgument extends SafeOverrideableArgument<Enchantment, Enchantment> {
+public class EnchantmentArgument extends SafeOverrideableArgument<Enchantment, Enchantment> implements CacheableArgument<Enchantment> {
 	
 	/**
 	 * An Enchantment argument. Represents an enchantment for items
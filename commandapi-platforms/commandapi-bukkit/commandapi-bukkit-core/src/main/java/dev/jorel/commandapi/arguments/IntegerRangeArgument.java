@@ -31,7 +31,7 @@ import dev.jorel.commandapi.wrappers.IntegerRange;
  * 
  * @since 3.0
  */
-public class IntegerRangeArgument extends SafeOverrideableArgument<IntegerRange, IntegerRange> {
+public class IntegerRangeArgument extends SafeOverrideableArgument<IntegerRange, IntegerRange> implements CacheableArgument<IntegerRange> {
 
 	/**
 	 * An IntegerRange argument. Represents a range of whole numbers
@@ -23,6 +23,7 @@ package dev.jorel.commandapi.arguments;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.executors.CommandArguments;
 import org.bukkit.inventory.ItemStack;
 
@@ -33,6 +34,8 @@ import org.bukkit.inventory.ItemStack;
  */
 public class ItemStackArgument extends SafeOverrideableArgument<ItemStack, ItemStack> {
 
+	private boolean useCache = true;
+
 	/**
 	 * An ItemStack argument. Always returns an itemstack of size 1
 	 * @param nodeName the name of the node for this argument
@@ -51,8 +54,27 @@ public class ItemStackArgument extends SafeOverrideableArgument<ItemStack, ItemS
 		return CommandAPIArgumentType.ITEMSTACK;
 	}
 	
+	/**
+	 * Sets whether the ItemStacks created by this argument can be cached. When
+	 * this argument is given an input that it has seen before, the ItemStack
+	 * returned is a copy of the one created for that input the first time.
+	 * Caching should be disabled if the ItemStack for an input may change over
+	 * time. By default, ItemStacks are cached.
+	 *
+	 * @param useCache whether ItemStacks created by this argument can be cached
+	 * @return this ItemStackArgument
+	 */
+	public ItemStackArgument useCache(boolean useCache) {
+		this.useCache = useCache;
+		return this;
+	}
+
 	@Override
 	public <CommandSourceStack> ItemStack parseArgument(CommandContext<CommandSourceStack> cmdCtx, String key, CommandArguments previousArgs) throws CommandSyntaxException {
-		return CommandAPIBukkit.<CommandSourceStack>get().getItemStack(cmdCtx, key);
+		CommandAPIBukkit<CommandSourceStack> platform = CommandAPIBukkit.get();
+		if (!useCache) {
+			return platform.getItemStack(cmdCtx, key);
+		}
+		return platform.getItemStackCache().getOrCreate(CommandAPIHandler.getRawArgumentInput(cmdCtx, key), () -> platform.getItemStack(cmdCtx, key));
 	}
 }
@@ -21,6 +21,7 @@ public class ListArgumentBuilder<T> {
 	private final String nodeName;
 	private final String delimiter;
 	private boolean allowDuplicates = false;
+	private boolean cacheList = false;
 
 	/**
 	 * Creates a new ListArgumentBuilder with a specified node name. Defaults the
@@ -56,6 +57,20 @@ public class ListArgumentBuilder<T> {
 		return this;
 	}
 
+	/**
+	 * Whether the list of elements is only retrieved once. By default, the list is
+	 * retrieved and indexed every time the argument is suggested or parsed. If the
+	 * list never changes, caching it avoids indexing it again for every keystroke,
+	 * which is noticeable for large lists.
+	 * 
+	 * @param cacheList whether to cache the list or not
+	 * @return this list argument builder
+	 */
+	public ListArgumentBuilder<T> cacheList(boolean cacheList) {
+		this.cacheList = cacheList;
+		return this;
+	}
+
 	/**
 	 * Specifies the list to use to generate suggestions for the list argument
 	 * 
@@ -161,7 +176,7 @@ public class ListArgumentBuilder<T> {
 			 * @return a {@link ListArgument}
 			 */
 			public ListArgument<T> buildGreedy() {
-				return new ListArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper);
+				return new ListArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper, cacheList);
 			}
 			
 			/**
@@ -170,7 +185,7 @@ public class ListArgumentBuilder<T> {
 			 * @return a {@link ListTextArgument}
 			 */
 			public ListTextArgument<T> buildText() {
-				return new ListTextArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper);
+				return new ListTextArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper, cacheList);
 			}
 		}
 	}
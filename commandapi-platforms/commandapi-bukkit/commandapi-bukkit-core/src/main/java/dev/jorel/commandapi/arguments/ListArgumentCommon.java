@@ -2,11 +2,10 @@ package dev.jorel.commandapi.arguments;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -34,22 +33,59 @@ import dev.jorel.commandapi.executors.CommandArguments;
 @SuppressWarnings("rawtypes")
 public class ListArgumentCommon<T> extends Argument<List> {
 	private final String delimiter;
+	private final Pattern delimiterPattern;
 	private final boolean allowDuplicates;
 	private final Function<SuggestionInfo<CommandSender>, Collection<T>> supplier;
 	private final Function<T, IStringTooltip> mapper;
+	private final boolean cacheList;
 	private final boolean text;
 
-	ListArgumentCommon(String nodeName, String delimiter, boolean allowDuplicates, Function<SuggestionInfo<CommandSender>, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, boolean text) {
+	// The index of the list, if the list is cached and has been indexed
+	private volatile ListIndex<T> cachedIndex;
+
+	ListArgumentCommon(String nodeName, String delimiter, boolean allowDuplicates, Function<SuggestionInfo<CommandSender>, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, boolean cacheList, boolean text) {
 		super(nodeName, text ? StringArgumentType.string() : StringArgumentType.greedyString());
 		this.delimiter = delimiter;
+		this.delimiterPattern = Pattern.compile(Pattern.quote(delimiter));
 		this.allowDuplicates = allowDuplicates;
 		this.supplier = supplier;
 		this.mapper = suggestionsMapper;
+		this.cacheList = cacheList;
 		this.text = text;
 
 		applySuggestions();
 	}
 
+	/**
+	 * The values of a list, indexed by the suggestions they are mapped to
+	 *
+	 * @param values   the values that each suggestion represents, in the order of the list
+	 * @param tooltips the tooltip to suggest for each suggestion
+	 */
+	private record ListIndex<T>(Map<String, List<T>> values, Map<String, IStringTooltip> tooltips) {
+	}
+
+	private ListIndex<T> getIndex(SuggestionInfo<CommandSender> info) {
+		ListIndex<T> index = cachedIndex;
+		if (index != null) {
+			return index;
+		}
+
+		Map<String, List<T>> values = new LinkedHashMap<>();
+		Map<String, IStringTooltip> tooltips = new LinkedHashMap<>();
+		for (T object : supplier.apply(info)) {
+			IStringTooltip tooltip = mapper.apply(object);
+			values.computeIfAbsent(tooltip.getSuggestion(), suggestion -> new ArrayList<>(1)).add(object);
+			tooltips.putIfAbsent(tooltip.getSuggestion(), tooltip);
+		}
+		index = new ListIndex<>(values, tooltips);
+
+		if (cacheList) {
+			cachedIndex = index;
+		}
+		return index;
+	}
+
 	private void applySuggestions() {
 		this.replaceSuggestions((info, builder) -> {
 			String currentArg = info.currentArg();
@@ -59,45 +95,31 @@ public class ListArgumentCommon<T> extends Argument<List> {
 				builder = builder.createOffset(builder.getStart() + 1);
 			}
 
-			// This need not be a sorted map because entries in suggestions are
-			// automatically sorted anyway
-			Set<IStringTooltip> values = new HashSet<>();
-			for (T object : supplier.apply(info)) {
-				values.add(mapper.apply(object));
-			}
+			Map<String, IStringTooltip> values = getIndex(info).tooltips();
+
+			String[] splitArguments = delimiterPattern.split(currentArg);
+			// Values already given are not suggested again
+			Set<String> givenValues = allowDuplicates ? Set.of() : new HashSet<>(List.of(splitArguments));
 
-			String[] splitArguments = currentArg.split(Pattern.quote(delimiter));
 			// If an argument is finished, suggest the delimiter
 			String lastArgument = splitArguments[splitArguments.length - 1];
-			if (!currentArg.endsWith(delimiter) && values.stream().map(IStringTooltip::getSuggestion).anyMatch(lastArgument::equals)) {
-				values.add(StringTooltip.none(lastArgument + delimiter));
-			}
-
-			if (!allowDuplicates) {
-				// Filter out values already given
-				for (String str : splitArguments) {
-					IStringTooltip valueToRemove = null;
-					for (IStringTooltip value : values) {
-						if (value.getSuggestion().equals(str)) {
-							valueToRemove = value;
-							break;
-						}
-					}
-					if (valueToRemove != null) {
-						values.remove(valueToRemove);
-					}
-				}
+			IStringTooltip delimiterSuggestion = null;
+			if (!currentArg.endsWith(delimiter) && values.containsKey(lastArgument)) {
+				delimiterSuggestion = StringTooltip.none(lastArgument + delimiter);
 			}
 
-
 			// Offset builder to just after the last argument
 			if (currentArg.contains(delimiter)) {
 				builder = builder.createOffset(builder.getStart() + currentArg.lastIndexOf(delimiter) + delimiter.length());
 			}
 
-			// 'values' is a set of all objects that need to be suggested
-			for (IStringTooltip str : values) {
-				if (str.getSuggestion().startsWith(builder.getRemaining())) {
+			// Entries in suggestions are automatically sorted, so the order
+			// they are suggested in doesn't matter
+			if (delimiterSuggestion != null && delimiterSuggestion.getSuggestion().startsWith(builder.getRemaining())) {
+				builder.suggest(delimiterSuggestion.getSuggestion());
+			}
+			for (IStringTooltip str : values.values()) {
+				if (!givenValues.contains(str.getSuggestion()) && str.getSuggestion().startsWith(builder.getRemaining())) {
 					if (str.getTooltip() == null)
 						builder.suggest(str.getSuggestion());
 					else
@@ -124,40 +146,29 @@ public class ListArgumentCommon<T> extends Argument<List> {
 		final CommandSender sender = CommandAPIBukkit.<CommandSourceStack>get().getCommandSenderFromCommandSource(cmdCtx.getSource()).getSource();
 		final SuggestionInfo<CommandSender> currentInfo = new SuggestionInfo<>(sender, previousArgs, cmdCtx.getInput(), cmdCtx.getArgument(key, String.class));
 		
-		// Get the list of values which this can take
-		Map<IStringTooltip, T> values = new HashMap<>();
-		for (T object : supplier.apply(currentInfo)) {
-			values.put(mapper.apply(object), object);
-		}
+		// Get the values which this can take, indexed by their suggestions
+		Map<String, List<T>> values = getIndex(currentInfo).values();
 
 		// If the argument's value is in the list of values, include it
 		List<T> list = new ArrayList<>();
+		Set<T> addedValues = allowDuplicates ? null : new HashSet<>();
 		String argument = cmdCtx.getArgument(key, String.class);
-		String[] strArr = argument.split(Pattern.quote(delimiter));
+		String[] strArr = delimiterPattern.split(argument);
 		StringReader context = new StringReader(argument);
 		int cursor = 0;
 		for (String str : strArr) {
-			boolean addedItem = false;
-			// Yes, this isn't an instant lookup HashMap, but this is the best we can do
-			for (Entry<IStringTooltip, T> entry : values.entrySet()) {
-				if (entry.getKey().getSuggestion().equals(str)) {
-					if (allowDuplicates) {
-						list.add(entry.getValue());
-					} else {
-						if (!list.contains(entry.getValue())) {
-							list.add(entry.getValue());
-						} else {
-							context.setCursor(cursor);
-							throw new SimpleCommandExceptionType(new LiteralMessage("Duplicate arguments are not allowed")).createWithContext(context);
-						}
-					}
-					addedItem = true;
-				}
-			}
-			if(!addedItem) {
+			List<T> matches = values.get(str);
+			if (matches == null) {
 				context.setCursor(cursor);
 				throw new SimpleCommandExceptionType(new LiteralMessage("Item is not allowed in list")).createWithContext(context);
 			}
+			for (T value : matches) {
+				if (addedValues != null && !addedValues.add(value)) {
+					context.setCursor(cursor);
+					throw new SimpleCommandExceptionType(new LiteralMessage("Duplicate arguments are not allowed")).createWithContext(context);
+				}
+				list.add(value);
+			}
 			cursor += str.length() + delimiter.length();
 		}
 		return list;
@@ -28,7 +28,9 @@ import org.bukkit.Keyed;
 import org.bukkit.loot.LootTable;
 
 /**
- * An argument that represents the Bukkit LootTable object
+ * An argument that represents the Bukkit LootTable object. Loot tables are
+ * replaced whenever datapacks are reloaded, including by vanilla's
+ * {@code /minecraft:reload}, so the parsed values of this argument are not cached.
  * 
  * @since 2.1
  */
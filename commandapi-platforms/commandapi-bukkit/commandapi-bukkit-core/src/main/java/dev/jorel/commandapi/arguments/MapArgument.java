@@ -6,11 +6,12 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.jorel.commandapi.executors.CommandArguments;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 /**
  * An argument that represents a key-value pair.
@@ -27,14 +28,12 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 	private final Function<String, K> keyMapper;
 	private final Function<String, V> valueMapper;
 
-	private final List<String> keyList;
-	private final List<String> valueList;
+	private final Set<String> keyList;
+	private final Set<String> valueList;
 	private final boolean allowValueDuplicates;
 	private final boolean keyListEmpty;
 	private final boolean valueListEmpty;
 
-	private final Pattern keyPattern = Pattern.compile("([a-zA-Z0-9\\.]+)");
-
 	/**
 	 * Constructs a {@link MapArgument}
 	 *
@@ -48,8 +47,8 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		this.keyMapper = keyMapper;
 		this.valueMapper = valueMapper;
 
-		this.keyList = keyList == null ? new ArrayList<>() : new ArrayList<>(keyList);
-		this.valueList = valueList == null ? new ArrayList<>() : new ArrayList<>(valueList);
+		this.keyList = keyList == null ? new LinkedHashSet<>() : new LinkedHashSet<>(keyList);
+		this.valueList = valueList == null ? new LinkedHashSet<>() : new LinkedHashSet<>(valueList);
 		this.allowValueDuplicates = allowValueDuplicates;
 
 		this.keyListEmpty = keyList == null;
@@ -62,16 +61,16 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		super.replaceSuggestions((info, builder) -> {
 			String currentArgument = info.currentArg();
 
-			List<String> keyValues = new ArrayList<>(keyList);
-			List<String> valueValues = new ArrayList<>(valueList);
+			Set<String> usedKeys = new HashSet<>();
+			Set<String> usedValues = new HashSet<>();
 
-			MapArgumentSuggestionInfo suggestionInfo = getSuggestionCode(currentArgument, keyValues, valueValues);
+			MapArgumentSuggestionInfo suggestionInfo = getSuggestionCode(currentArgument, usedKeys, usedValues);
 
-			switch (suggestionInfo.getSuggestionCode()) {
+			switch (suggestionInfo.suggestionCode()) {
 				case KEY_SUGGESTION -> {
-					builder = builder.createOffset(builder.getStart() + currentArgument.length() - suggestionInfo.getCurrentKey().length());
-					for (String key : keyValues) {
-						if (key.startsWith(suggestionInfo.getCurrentKey())) {
+					builder = builder.createOffset(builder.getStart() + currentArgument.length() - suggestionInfo.currentKey().length());
+					for (String key : keyList) {
+						if (!usedKeys.contains(key) && key.startsWith(suggestionInfo.currentKey())) {
 							builder.suggest(key);
 						}
 					}
@@ -85,9 +84,9 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 					builder.suggest("\"");
 				}
 				case VALUE_SUGGESTION -> {
-					builder = builder.createOffset(builder.getStart() + currentArgument.length() - suggestionInfo.getCurrentValue().length());
-					for (String value : valueValues) {
-						if (value.startsWith(suggestionInfo.getCurrentValue())) {
+					builder = builder.createOffset(builder.getStart() + currentArgument.length() - suggestionInfo.currentValue().length());
+					for (String value : valueList) {
+						if (!usedValues.contains(value) && value.startsWith(suggestionInfo.currentValue())) {
 							builder.suggest(value);
 						}
 					}
@@ -106,126 +105,39 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 	 *     <li><code>QUOTATION_MARK_SUGGESTION</code> if a quotation mark should be suggested</li>
 	 *     <li><code>VALUE_SUGGESTION</code> if a value should be suggested</li>
 	 * </ul>
+	 * The keys and values of every completed key-value pair are added to <code>usedKeys</code>
+	 * and <code>usedValues</code>, so they aren't suggested again.
 	 *
 	 * @return An enum value based on what to suggest
 	 */
-	private MapArgumentSuggestionInfo getSuggestionCode(String currentArgument, List<String> keys, List<String> values) throws CommandSyntaxException {
-		String currentKey = "";
-		String currentValue = "";
-
-		MapArgumentSuggestionInfo suggestionInfo = new MapArgumentSuggestionInfo(currentKey, currentValue, SuggestionCode.KEY_SUGGESTION);
-
-		if (currentArgument.equals("")) {
-			suggestionInfo.setSuggestionCode(SuggestionCode.KEY_SUGGESTION);
-		}
-
-		boolean isAKeyBeingBuilt = true;
-		boolean isAValueBeingBuilt = false;
-		boolean isFirstValueCharacter = true;
-
-		StringBuilder keyBuilder = new StringBuilder();
-		StringBuilder valueBuilder = new StringBuilder();
-		StringBuilder visitedCharacters = new StringBuilder();
-
-		char[] rawValuesChars = currentArgument.toCharArray();
-		int currentIndex = -1;
-		for (char currentChar : rawValuesChars) {
-			currentIndex++;
-			visitedCharacters.append(currentChar);
-			if (isAKeyBeingBuilt) {
-				currentValue = "";
-				suggestionInfo.setCurrentValue(currentValue);
-				if (currentChar == delimiter) {
-					isAKeyBeingBuilt = false;
-					isAValueBeingBuilt = true;
-					suggestionInfo.setSuggestionCode(SuggestionCode.QUOTATION_MARK_SUGGESTION);
-					continue;
-				}
-				if (currentChar == '"') {
-					throw throwValueEarlyStart(visitedCharacters, String.valueOf(delimiter));
-				}
-				keyBuilder.append(currentChar);
-				currentKey = keyBuilder.toString();
-				suggestionInfo.setCurrentKey(currentKey);
-				validateKey(visitedCharacters, keyPattern, keyBuilder.toString());
-				for (String key : keys) {
-					if (key.equals(keyBuilder.toString())) {
-						suggestionInfo.setSuggestionCode(SuggestionCode.DELIMITER_SUGGESTION);
-						break;
-					}
-					suggestionInfo.setSuggestionCode(SuggestionCode.KEY_SUGGESTION);
+	private MapArgumentSuggestionInfo getSuggestionCode(String currentArgument, Set<String> usedKeys, Set<String> usedValues) throws CommandSyntaxException {
+		MapArgumentTokenizer tokenizer = new MapArgumentTokenizer(currentArgument);
+		Token lastToken = null;
+		while (tokenizer.hasNext()) {
+			lastToken = tokenizer.next();
+			if (lastToken == Token.VALUE_END) {
+				usedKeys.add(tokenizer.getKey());
+				if (!allowValueDuplicates) {
+					usedValues.add(tokenizer.getValue());
 				}
 			}
-			if (isAValueBeingBuilt) {
-				if (isFirstValueCharacter) {
-					validateValueStart(currentChar, visitedCharacters); // currentChar should be a quotation mark
-					suggestionInfo.setSuggestionCode(SuggestionCode.VALUE_SUGGESTION);
-					isFirstValueCharacter = false;
-					continue;
-				}
-				if (currentChar == '\\') {
-					if (rawValuesChars[currentIndex] == '\\' && rawValuesChars[currentIndex - 1] == '\\') {
-						valueBuilder.append('\\');
-						for (String value : values) {
-							if (value.equals(valueBuilder.toString())) {
-								suggestionInfo.setSuggestionCode(SuggestionCode.QUOTATION_MARK_SUGGESTION);
-								break;
-							}
-							suggestionInfo.setSuggestionCode(SuggestionCode.VALUE_SUGGESTION);
-						}
-						continue;
-					}
-					continue;
-				}
-				if (currentChar == '"') {
-					if (rawValuesChars[currentIndex - 1] == '\\' && rawValuesChars[currentIndex - 2] != '\\') {
-						valueBuilder.append('"');
-						for (String value : values) {
-							if (value.equals(valueBuilder.toString())) {
-								suggestionInfo.setSuggestionCode(SuggestionCode.QUOTATION_MARK_SUGGESTION);
-								break;
-							}
-							suggestionInfo.setSuggestionCode(SuggestionCode.VALUE_SUGGESTION);
-						}
-						continue;
-					}
-					currentKey = "";
-					suggestionInfo.setCurrentKey(currentKey);
-					isFirstValueCharacter = true;
-
-					keys.remove(keyBuilder.toString());
-					if (!allowValueDuplicates) {
-						values.remove(valueBuilder.toString());
-					}
-
-					keyBuilder.setLength(0);
-					valueBuilder.setLength(0);
+		}
 
-					isAValueBeingBuilt = false;
-					suggestionInfo.setSuggestionCode(SuggestionCode.KEY_SUGGESTION);
-					continue;
-				}
-				valueBuilder.append(currentChar);
-				currentValue = valueBuilder.toString();
-				suggestionInfo.setCurrentValue(currentValue);
-				for (String value : values) {
-					if (value.equals(valueBuilder.toString())) {
-						suggestionInfo.setSuggestionCode(SuggestionCode.QUOTATION_MARK_SUGGESTION);
-						break;
-					}
-					suggestionInfo.setSuggestionCode(SuggestionCode.VALUE_SUGGESTION);
-				}
+		return switch (tokenizer.state) {
+			case KEY -> {
+				String currentKey = tokenizer.getKey();
+				// The first character of a key is only checked once the next character is read
+				boolean isKnownKey = lastToken == Token.KEY_CHARACTER && keyList.contains(currentKey) && !usedKeys.contains(currentKey);
+				yield new MapArgumentSuggestionInfo(currentKey, "", isKnownKey ? SuggestionCode.DELIMITER_SUGGESTION : SuggestionCode.KEY_SUGGESTION);
 			}
-			if (!isAKeyBeingBuilt && !isAValueBeingBuilt) {
-				if (currentChar != ' ') {
-					isAKeyBeingBuilt = true;
-					keyBuilder.append(currentChar);
-					suggestionInfo.setSuggestionCode(SuggestionCode.KEY_SUGGESTION);
-					suggestionInfo.setCurrentKey(keyBuilder.toString());
-				}
+			case VALUE_START -> new MapArgumentSuggestionInfo(tokenizer.getKey(), "", SuggestionCode.QUOTATION_MARK_SUGGESTION);
+			case VALUE -> {
+				String currentValue = tokenizer.getValue();
+				boolean isKnownValue = !currentValue.isEmpty() && valueList.contains(currentValue) && !usedValues.contains(currentValue);
+				yield new MapArgumentSuggestionInfo(tokenizer.getKey(), currentValue, isKnownValue ? SuggestionCode.QUOTATION_MARK_SUGGESTION : SuggestionCode.VALUE_SUGGESTION);
 			}
-		}
-		return suggestionInfo;
+			case BETWEEN_PAIRS -> new MapArgumentSuggestionInfo("", "", SuggestionCode.KEY_SUGGESTION);
+		};
 	}
 
 	@Override
@@ -238,261 +150,277 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		return CommandAPIArgumentType.MAP;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public <Source> LinkedHashMap<K, V> parseArgument(CommandContext<Source> cmdCtx, String key, CommandArguments previousArgs) throws CommandSyntaxException {
 		String rawValues = cmdCtx.getArgument(key, String.class);
 		LinkedHashMap<K, V> results = new LinkedHashMap<>();
+		Set<V> values = new HashSet<>();
 
 		K mapKey = null;
-		V mapValue = null;
-
-		boolean isAKeyBeingBuilt = true;
-		boolean isAValueBeingBuilt = false;
-		boolean isFirstValueCharacter = true;
-		
-		StringBuilder keyValueBuffer = new StringBuilder();
-		StringBuilder visitedCharacters = new StringBuilder();
-
-		char[] rawValuesChars = rawValues.toCharArray();
-		int currentIndex = -1;
-		for (char currentChar : rawValuesChars) {
-			currentIndex++;
-			visitedCharacters.append(currentChar);
-			if (isAKeyBeingBuilt) {
-				if (currentChar == delimiter) {
-					if (!keyList.contains(keyValueBuffer.toString()) && !keyListEmpty) {
-						throw throwInvalidKey(visitedCharacters, keyValueBuffer.toString(), true);
+
+		MapArgumentTokenizer tokenizer = new MapArgumentTokenizer(rawValues);
+		while (tokenizer.hasNext()) {
+			switch (tokenizer.next()) {
+				case KEY_CHARACTER -> {
+					if (tokenizer.isLastCharacter()) {
+						String currentKey = tokenizer.getKey();
+						if (!keyList.contains(currentKey) && !keyListEmpty) {
+							throw throwInvalidKey(tokenizer.getContext(), currentKey, false);
+						} else {
+							throw missingDelimiter(tokenizer.getContext());
+						}
+					}
+				}
+				case KEY_END -> {
+					String currentKey = tokenizer.getKey();
+					if (!keyList.contains(currentKey) && !keyListEmpty) {
+						throw throwInvalidKey(tokenizer.getContext(), currentKey, true);
 					}
 
-					if (currentIndex == rawValuesChars.length - 1) {
-						throw missingQuotationMark(visitedCharacters);
+					if (tokenizer.isLastCharacter()) {
+						throw missingQuotationMark(tokenizer.getContext());
 					}
 
 					try {
-						mapKey = keyMapper.apply(keyValueBuffer.toString());
+						mapKey = keyMapper.apply(currentKey);
 					} catch (Exception e) {
-						throw cannotParseKey(visitedCharacters, keyValueBuffer);
+						throw cannotParseKey(tokenizer.getContext(), currentKey);
 					}
 
 					if (results.containsKey(mapKey)) {
-						throw duplicateKey(visitedCharacters);
-					}
-
-					// No need to check the key here because we already know it only consists of letters
-
-					keyValueBuffer.setLength(0);
-					isAKeyBeingBuilt = false;
-					isAValueBeingBuilt = true;
-					continue;
-				}
-				if (currentChar == '"') {
-					throw throwValueEarlyStart(visitedCharacters, String.valueOf(delimiter));
-				}
-				keyValueBuffer.append(currentChar);
-
-				final String keyValueBufferString = keyValueBuffer.toString();
-				final boolean isInvalidKey = validateKey(visitedCharacters, keyPattern, keyValueBufferString);
-				if (currentIndex == rawValuesChars.length - 1) {
-					if (isInvalidKey) {
-						throw throwInvalidKey(visitedCharacters, keyValueBufferString, false);
-					} else {
-						throw missingDelimiter(visitedCharacters);
-					}
-				}
-			}
-			if (isAValueBeingBuilt) {
-				if (isFirstValueCharacter) {
-					validateValueStart(currentChar, visitedCharacters);
-					if (currentIndex == rawValuesChars.length - 1) {
-						throw missingValue(visitedCharacters);
+						throw duplicateKey(tokenizer.getContext());
 					}
-					isFirstValueCharacter = false;
-					continue;
 				}
-				if (currentChar == '\\') {
-					if (rawValuesChars[currentIndex] == '\\' && rawValuesChars[currentIndex - 1] == '\\') {
-						keyValueBuffer.append('\\');
-						continue;
+				case VALUE_START -> {
+					if (tokenizer.isLastCharacter()) {
+						throw missingValue(tokenizer.getContext());
 					}
-					continue;
 				}
-				if (currentChar == '"') {
-					if (rawValuesChars[currentIndex - 1] == '\\' && rawValuesChars[currentIndex - 2] != '\\') {
-						keyValueBuffer.append('"');
-						continue;
-					}
-					if (!valueList.contains(keyValueBuffer.toString()) && !valueListEmpty) {
-						throw throwInvalidValue(visitedCharacters, keyValueBuffer.toString());
+				case VALUE_END -> {
+					String currentValue = tokenizer.getValue();
+					if (!valueList.contains(currentValue) && !valueListEmpty) {
+						throw throwInvalidValue(tokenizer.getContext(), currentValue);
 					}
 
+					V mapValue;
 					try {
-						mapValue = valueMapper.apply(keyValueBuffer.toString());
+						mapValue = valueMapper.apply(currentValue);
 					} catch (Exception e) {
-						throw cannotParseValue(visitedCharacters, keyValueBuffer);
+						throw cannotParseValue(tokenizer.getContext(), currentValue);
 					}
 
-					if (results.containsValue(mapValue) && !allowValueDuplicates) {
-						throw duplicateValue(visitedCharacters);
+					if (!allowValueDuplicates && !values.add(mapValue)) {
+						throw duplicateValue(tokenizer.getContext());
 					}
 
-					keyValueBuffer.setLength(0);
-					isFirstValueCharacter = true;
 					results.put(mapKey, mapValue);
 					mapKey = null;
-
-					isAValueBeingBuilt = false;
-					continue;
 				}
-				keyValueBuffer.append(currentChar);
-			}
-			if (!isAKeyBeingBuilt && !isAValueBeingBuilt) {
-				if (currentChar != ' ') {
-					isAKeyBeingBuilt = true;
-					keyValueBuffer.append(currentChar);
+				default -> {
+					// Other characters need no checks of their own
 				}
 			}
 		}
-		validateValueInput(keyValueBuffer, visitedCharacters);
+		if (tokenizer.hasUnfinishedPair()) {
+			throw missingClosingQuotationMark(rawValues);
+		}
 		return results;
 	}
 
-	private boolean validateKey(StringBuilder visitedCharacters, Pattern keyPattern, String keyValueBufferString) throws CommandSyntaxException {
-		if (!keyPattern.matcher(keyValueBufferString).matches()) {
-			throw throwInvalidKeyCharacter(visitedCharacters);
+	private static boolean isKeyCharacter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.';
+	}
+
+	/**
+	 * Reads a map argument one character at a time, for both parsing and suggestions.
+	 * Each character is checked as it is read, so the input is only read once.
+	 */
+	private class MapArgumentTokenizer {
+
+		private final String input;
+		private int index = -1;
+		private TokenizerState state = TokenizerState.KEY;
+
+		private final StringBuilder keyBuffer = new StringBuilder();
+		private final StringBuilder valueBuffer = new StringBuilder();
+		// Whether the key only contains letters, numbers and periods so far
+		private boolean isValidKey = true;
+
+		MapArgumentTokenizer(String input) {
+			this.input = input;
+		}
+
+		boolean hasNext() {
+			return index < input.length() - 1;
+		}
+
+		boolean isLastCharacter() {
+			return index == input.length() - 1;
+		}
+
+		/**
+		 * @return the input up to and including the current character
+		 */
+		String getContext() {
+			return input.substring(0, index + 1);
+		}
+
+		String getKey() {
+			return keyBuffer.toString();
+		}
+
+		String getValue() {
+			return valueBuffer.toString();
+		}
+
+		/**
+		 * @return true if a key or value has been started, but its key-value pair hasn't been completed
+		 */
+		boolean hasUnfinishedPair() {
+			return (state == TokenizerState.KEY && keyBuffer.length() != 0) || (state == TokenizerState.VALUE && valueBuffer.length() != 0);
+		}
+
+		Token next() throws CommandSyntaxException {
+			index++;
+			char currentChar = input.charAt(index);
+			switch (state) {
+				case KEY -> {
+					if (currentChar == delimiter) {
+						state = TokenizerState.VALUE_START;
+						return Token.KEY_END;
+					}
+					if (currentChar == '"') {
+						throw throwValueEarlyStart(getContext(), String.valueOf(delimiter));
+					}
+					keyBuffer.append(currentChar);
+					isValidKey &= isKeyCharacter(currentChar);
+					if (!isValidKey) {
+						throw throwInvalidKeyCharacter(getContext());
+					}
+					return Token.KEY_CHARACTER;
+				}
+				case VALUE_START -> {
+					validateValueStart(currentChar, getContext());
+					state = TokenizerState.VALUE;
+					return Token.VALUE_START;
+				}
+				case VALUE -> {
+					if (currentChar == '\\') {
+						if (input.charAt(index - 1) == '\\') {
+							valueBuffer.append('\\');
+							return Token.VALUE_CHARACTER;
+						}
+						return Token.IGNORED;
+					}
+					if (currentChar == '"') {
+						if (input.charAt(index - 1) == '\\' && input.charAt(index - 2) != '\\') {
+							valueBuffer.append('"');
+							return Token.VALUE_CHARACTER;
+						}
+						state = TokenizerState.BETWEEN_PAIRS;
+						return Token.VALUE_END;
+					}
+					valueBuffer.append(currentChar);
+					return Token.VALUE_CHARACTER;
+				}
+				default -> {
+					// The previous key-value pair has been completed
+					keyBuffer.setLength(0);
+					valueBuffer.setLength(0);
+					if (currentChar == ' ') {
+						return Token.IGNORED;
+					}
+					// The first character of a key is checked along with the next character
+					keyBuffer.append(currentChar);
+					isValidKey = isKeyCharacter(currentChar);
+					state = TokenizerState.KEY;
+					return Token.KEY_START;
+				}
+			}
 		}
-		return !keyList.contains(keyValueBufferString) && !keyListEmpty;
 	}
 
-	private void validateValueStart(char currentChar, StringBuilder visitedCharacters) throws CommandSyntaxException {
+	private void validateValueStart(char currentChar, String context) throws CommandSyntaxException {
 		if (currentChar != '"') {
-			String context = visitedCharacters.toString();
 			StringReader reader = new StringReader(context.substring(0, context.length() - 1));
 			reader.setCursor(context.substring(0, context.length() - 1).length());
 			throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "A value must start with a quotation mark");
 		}
 	}
 
-	private void validateValueInput(StringBuilder valueBuilder, StringBuilder visitedCharacters) throws CommandSyntaxException {
-		if (valueBuilder.length() != 0) {
-			StringReader reader = new StringReader(visitedCharacters.toString());
-			reader.setCursor(visitedCharacters.toString().length());
-			throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "A value must end with a quotation mark");
-		}
+	private CommandSyntaxException missingClosingQuotationMark(String context) {
+		StringReader reader = new StringReader(context);
+		reader.setCursor(context.length());
+		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "A value must end with a quotation mark");
 	}
 
-	private CommandSyntaxException throwInvalidKeyCharacter(StringBuilder visitedCharacters) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException throwInvalidKeyCharacter(String context) {
 		StringReader reader = new StringReader(context);
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "A key must only contain letters from a-z and A-Z, numbers and periods");
 	}
 
-	private CommandSyntaxException throwValueEarlyStart(StringBuilder visitedCharacters, String delimiter) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException throwValueEarlyStart(String context, String delimiter) {
 		StringReader reader = new StringReader(context);
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "You must separate a key/value pair with a '" + delimiter + "'");
 	}
 
-	private CommandSyntaxException throwInvalidKey(StringBuilder visitedCharacters, String key, boolean cutLastCharacter) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException throwInvalidKey(String context, String key, boolean cutLastCharacter) {
 		StringReader reader = (cutLastCharacter) ? new StringReader(context.substring(0, context.length() - 1)) : new StringReader(context);
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Invalid key: " + key);
 	}
 
-	private CommandSyntaxException throwInvalidValue(StringBuilder visitedCharacters, String value) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException throwInvalidValue(String context, String value) {
 		StringReader reader = new StringReader(context.substring(0, context.length() - 1));
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Invalid value: " + value);
 	}
 
-	private CommandSyntaxException duplicateKey(StringBuilder visitedCharacters) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException duplicateKey(String context) {
 		StringReader reader = new StringReader(context.substring(0, context.length() - 1));
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Duplicate keys are not allowed");
 	}
 
-	private CommandSyntaxException duplicateValue(StringBuilder visitedCharacters) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException duplicateValue(String context) {
 		StringReader reader = new StringReader(context.substring(0, context.length() - 1));
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Duplicate values are not allowed here");
 	}
 
-	private CommandSyntaxException missingDelimiter(StringBuilder visitedCharacters) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException missingDelimiter(String context) {
 		StringReader reader = new StringReader(context);
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Delimiter required after writing a key");
 	}
 
-	private CommandSyntaxException missingQuotationMark(StringBuilder visitedCharacters) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException missingQuotationMark(String context) {
 		StringReader reader = new StringReader(context);
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Quotation mark required after writing the delimiter");
 	}
 
-	private CommandSyntaxException missingValue(StringBuilder visitedCharacters) {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException missingValue(String context) {
 		StringReader reader = new StringReader(context);
 		reader.setCursor(context.length());
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Value required after opening quotation mark");
 	}
 
-	private CommandSyntaxException cannotParseKey(StringBuilder visitedCharacters, StringBuilder keyValueBuffer) throws CommandSyntaxException {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException cannotParseKey(String context, String key) throws CommandSyntaxException {
 		StringReader reader = new StringReader(context.substring(0, context.length() - 1));
 		reader.setCursor(context.length() - 1);
-		throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Invalid key (" + keyValueBuffer + "): cannot be converted to a key");
+		throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Invalid key (" + key + "): cannot be converted to a key");
 	}
 
-	private CommandSyntaxException cannotParseValue(StringBuilder visitedCharacters, StringBuilder keyValueBuffer) throws CommandSyntaxException {
-		String context = visitedCharacters.toString();
+	private CommandSyntaxException cannotParseValue(String context, String value) throws CommandSyntaxException {
 		StringReader reader = new StringReader(context);
 		reader.setCursor(context.length());
-		throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Invalid value (" + keyValueBuffer + "): cannot be converted to a value");
+		throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, "Invalid value (" + value + "): cannot be converted to a value");
 	}
 
-	private static class MapArgumentSuggestionInfo {
-
-		private String currentKey;
-		private String currentValue;
-		private SuggestionCode suggestionCode;
-
-		MapArgumentSuggestionInfo(String currentKey, String currentValue, SuggestionCode suggestionCode) {
-			this.currentKey = currentKey;
-			this.currentValue = currentValue;
-			this.suggestionCode = suggestionCode;
-		}
-
-		public String getCurrentKey() {
-			return currentKey;
-		}
-
-		public void setCurrentKey(String currentKey) {
-			this.currentKey = currentKey;
-		}
-
-		public String getCurrentValue() {
-			return currentValue;
-		}
-
-		public void setCurrentValue(String currentValue) {
-			this.currentValue = currentValue;
-		}
-
-		public SuggestionCode getSuggestionCode() {
-			return suggestionCode;
-		}
-
-		public void setSuggestionCode(SuggestionCode suggestionCode) {
-			this.suggestionCode = suggestionCode;
-		}
+	private record MapArgumentSuggestionInfo(String currentKey, String currentValue, SuggestionCode suggestionCode) {
 	}
 
 	private enum SuggestionCode {
@@ -502,4 +430,21 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		VALUE_SUGGESTION
 	}
 
+	private enum TokenizerState {
+		KEY,
+		VALUE_START,
+		VALUE,
+		BETWEEN_PAIRS
+	}
+
+	private enum Token {
+		KEY_START,
+		KEY_CHARACTER,
+		KEY_END,
+		VALUE_START,
+		VALUE_CHARACTER,
+		VALUE_END,
+		IGNORED
+	}
+
 }
\ No newline at end of file
@@ -35,7 +35,7 @@ import org.bukkit.NamespacedKey;
  * @since 8.4.0
  * @apiNote Returns a {@link NamespacedKey} object
  */
-public class NamespacedKeyArgument extends SafeOverrideableArgument<NamespacedKey, NamespacedKey> {
+public class NamespacedKeyArgument extends SafeOverrideableArgument<NamespacedKey, NamespacedKey> implements CacheableArgument<NamespacedKey> {
 
 	/**
 	 * Constructs a MinecraftKeyArgument with a given node name.
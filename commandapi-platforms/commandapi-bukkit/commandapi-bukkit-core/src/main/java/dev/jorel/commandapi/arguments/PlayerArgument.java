@@ -23,6 +23,7 @@ package dev.jorel.commandapi.arguments;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.executors.CommandArguments;
 import org.bukkit.entity.Player;
 
@@ -53,8 +54,39 @@ public class PlayerArgument extends SafeOverrideableArgument<Player, Player> {
 		return CommandAPIArgumentType.PLAYER;
 	}
 	
+	/**
+	 * Replaces the suggestions of this argument with the names of online players
+	 * that start with what has been typed so far. Unlike the default suggestions,
+	 * these are generated by the server and don't include entity selectors.
+	 *
+	 * @param onlyVisible whether to only suggest players that the command sender
+	 *                    can see
+	 * @return this player argument
+	 */
+	public PlayerArgument suggestOnlinePlayers(boolean onlyVisible) {
+		replaceSuggestions((info, builder) -> {
+			Player viewer = onlyVisible && info.sender() instanceof Player sender ? sender : null;
+			for (Player player : CommandAPIBukkit.get().getPlayerNameIndex().getPlayersStartingWith(builder.getRemaining())) {
+				if (viewer == null || viewer.canSee(player)) {
+					builder.suggest(player.getName());
+				}
+			}
+			return builder.buildFuture();
+		});
+		return this;
+	}
+
 	@Override
 	public <CommandSourceStack> Player parseArgument(CommandContext<CommandSourceStack> cmdCtx, String key, CommandArguments previousArgs) throws CommandSyntaxException {
+		// Players are usually given by name, which can be found without resolving
+		// a game profile. Entity selectors and unknown names are left to Minecraft
+		String input = CommandAPIHandler.getRawArgumentInput(cmdCtx, key);
+		if (!input.isEmpty() && !input.startsWith("@")) {
+			Player player = CommandAPIBukkit.get().getPlayerNameIndex().getPlayer(input);
+			if (player != null) {
+				return player;
+			}
+		}
 		return CommandAPIBukkit.<CommandSourceStack>get().getPlayer(cmdCtx, key);
 	}
 }
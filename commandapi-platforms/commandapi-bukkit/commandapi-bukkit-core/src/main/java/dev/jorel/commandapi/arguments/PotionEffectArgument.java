@@ -31,7 +31,7 @@ import org.bukkit.potion.PotionEffectType;
  * 
  * @since 1.1
  */
-public class PotionEffectArgument extends SafeOverrideableArgument<PotionEffectType, PotionEffectType> {
+public class PotionEffectArgument extends SafeOverrideableArgument<PotionEffectType, PotionEffectType> implements CacheableArgument<PotionEffectType> {
 
 	/**
 	 * A PotionEffect argument. Represents status/potion effects
@@ -33,7 +33,7 @@ import dev.jorel.commandapi.CommandAPIBukkit;
  * 
  * @since 2.1
  */
-public class SoundArgument extends SafeOverrideableArgument<Sound, Sound> implements CustomProvidedArgument {
+public class SoundArgument extends SafeOverrideableArgument<Sound, Sound> implements CustomProvidedArgument, CacheableArgument<Sound> {
 	
 	/**
 	 * A Sound argument. Represents Bukkit's Sound object
@@ -68,7 +68,7 @@ public class SoundArgument extends SafeOverrideableArgument<Sound, Sound> implem
 	 *
 	 * @apiNote Returns a {@link NamespacedKey} object
 	 */
-	public static class NamespacedKey extends SafeOverrideableArgument<org.bukkit.NamespacedKey, org.bukkit.NamespacedKey> implements CustomProvidedArgument {
+	public static class NamespacedKey extends SafeOverrideableArgument<org.bukkit.NamespacedKey, org.bukkit.NamespacedKey> implements CustomProvidedArgument, CacheableArgument<org.bukkit.NamespacedKey> {
 
 		/**
 		 * Constructs a SoundArgument with a given node name. This SoundArgument will
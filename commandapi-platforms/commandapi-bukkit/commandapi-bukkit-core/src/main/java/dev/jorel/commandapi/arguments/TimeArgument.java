@@ -31,7 +31,7 @@ import dev.jorel.commandapi.wrappers.Time;
  * 
  * @since 3.0
  */
-public class TimeArgument extends SafeOverrideableArgument<Integer, Time> {
+public class TimeArgument extends SafeOverrideableArgument<Integer, Time> implements CacheableArgument<Integer> {
 	
 	/**
 	 * A Time argument. Represents the number of in game ticks
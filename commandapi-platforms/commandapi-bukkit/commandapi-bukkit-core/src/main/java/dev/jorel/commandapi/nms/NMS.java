@@ -432,8 +432,6 @@ public interface NMS<CommandListenerWrapper> {
 	 */
 	void resendPackets(Player player);
 
-	HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission);
-
 	void addToHelpMap(Map<String, HelpTopic> helpTopicsToAdd);
 
 	Message generateMessageFromJson(String json);
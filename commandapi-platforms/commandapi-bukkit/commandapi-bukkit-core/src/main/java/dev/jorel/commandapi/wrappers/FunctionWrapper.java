@@ -20,7 +20,9 @@
  *******************************************************************************/
 package dev.jorel.commandapi.wrappers;
 
+import java.util.Collection;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
 
 import org.bukkit.NamespacedKey;
@@ -48,6 +50,12 @@ public class FunctionWrapper extends SimpleFunctionWrapper {
 		this.mapper = mapper;
 	}
 	
+	private FunctionWrapper(NamespacedKey minecraftKey, @SuppressWarnings("rawtypes") ToIntFunction invoker, Object clwArgB, Function<Entity, Object> mapper, Supplier<String[]> internalCommands) {
+		super(minecraftKey, invoker, internalCommands);
+		this.commandListenerWrapper = clwArgB;
+		this.mapper = mapper;
+	}
+	
 	/**
 	 * Converts a SimpleFunctionWrapper into a FunctionWrapper
 	 * @param wrapper the SimpleFunctionWrapper to convert
@@ -76,4 +84,43 @@ public class FunctionWrapper extends SimpleFunctionWrapper {
 		return runInternal(mapper.apply(e));
 	}
 	
+	/**
+	 * Executes this function as each of the provided entities, in order.
+	 * @param entities the entities to execute this function
+	 * @return the sum of the results of running this function as each entity
+	 */
+	public int runAsAll(Collection<? extends Entity> entities) {
+		int result = 0;
+		for (Entity entity : entities) {
+			result += runInternal(mapper.apply(entity));
+		}
+		return result;
+	}
+	
+	/**
+	 * Executes every provided function as each of the provided entities. Each
+	 * entity runs all of the functions in order before the next entity runs them,
+	 * which is how Minecraft runs a function tag as multiple entities. Functions
+	 * from the same function argument share the command source created for an
+	 * entity.
+	 * @param functions the functions to execute, such as the functions of a tag
+	 * @param entities the entities to execute the functions
+	 * @return the sum of the results of running every function as each entity
+	 */
+	public static int runAllAs(FunctionWrapper[] functions, Collection<? extends Entity> entities) {
+		int result = 0;
+		for (Entity entity : entities) {
+			Function<Entity, Object> lastMapper = null;
+			Object source = null;
+			for (FunctionWrapper function : functions) {
+				if (function.mapper != lastMapper) {
+					lastMapper = function.mapper;
+					source = lastMapper.apply(entity);
+				}
+				result += function.runInternal(source);
+			}
+		}
+		return result;
+	}
+	
 }
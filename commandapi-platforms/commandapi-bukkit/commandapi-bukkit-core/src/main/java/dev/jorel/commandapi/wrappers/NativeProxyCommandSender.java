@@ -22,6 +22,7 @@ package dev.jorel.commandapi.wrappers;
 
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.bukkit.Location;
 import org.bukkit.Server;
@@ -44,8 +45,13 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 
 	private final CommandSender caller;
 	private final CommandSender callee;
-	private final Location location;
-	private final World world;
+	private Location location;
+	private World world;
+
+	// Looks up the location and world the first time they are needed. These are
+	// null once the location and world are known
+	private Supplier<Location> locationSupplier;
+	private Supplier<World> worldSupplier;
 
 	/**
 	 * Constructs a NativeProxyCommandSender, which is basically Minecraft's CommandListenerWrapper
@@ -60,6 +66,23 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 		this.location = location;
 		this.world = world;
 	}
+
+	/**
+	 * Constructs a NativeProxyCommandSender whose location and world are only
+	 * looked up the first time they are needed. Most commands never use the
+	 * location of their sender, so this avoids creating it for every command.
+	 * @param caller the command sender that actually sent the command
+	 * @param callee the command sender that will be executing the command
+	 * @param location provides the proxied location that the command will be run at
+	 * @param world provides the proxied world that the command will be run in
+	 * @return a NativeProxyCommandSender that looks up its location and world when they are first needed
+	 */
+	public static NativeProxyCommandSender lazy(CommandSender caller, CommandSender callee, Supplier<Location> location, Supplier<World> world) {
+		NativeProxyCommandSender sender = new NativeProxyCommandSender(caller, callee, null, null);
+		sender.locationSupplier = location;
+		sender.worldSupplier = world;
+		return sender;
+	}
 	
 	/**
      * Adds a new empty PermissionAttachment to this object
@@ -155,7 +178,11 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 	 * Returns the location that this native command sender represents
 	 * @return the location that this native command sender represents
 	 */
-	public Location getLocation() {
+	public synchronized Location getLocation() {
+		if (this.locationSupplier != null) {
+			this.location = this.locationSupplier.get();
+			this.locationSupplier = null;
+		}
 		return this.location;
 	}
 
@@ -183,7 +210,11 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 	 * Returns the world that this native command sender represents
 	 * @return the world that this native command sender represents
 	 */
-	public World getWorld() {
+	public synchronized World getWorld() {
+		if (this.worldSupplier != null) {
+			this.world = this.worldSupplier.get();
+			this.worldSupplier = null;
+		}
 		return this.world;
 	}
 
@@ -21,6 +21,7 @@
 package dev.jorel.commandapi.wrappers;
 
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
 
 import org.bukkit.Keyed;
@@ -36,7 +37,7 @@ public class SimpleFunctionWrapper implements Keyed {
 	
 	final NamespacedKey minecraftKey;
 	final ToIntFunction<Object> functionExecutor; //What the function does
-	final String[] internalCommands;
+	final Supplier<String[]> internalCommands;
 	
 	/**
 	 * Creates a SimpleFunctionWrapper
@@ -44,11 +45,22 @@ public class SimpleFunctionWrapper implements Keyed {
 	 * @param invoker a method which, when invoked, runs the function
 	 * @param internalCommands a String[] of internal commands that this customFunction represents. Typically customFunction.b().map(Object::toString)
 	 */
-	@SuppressWarnings("unchecked")
 	public SimpleFunctionWrapper(NamespacedKey minecraftKey, @SuppressWarnings("rawtypes") ToIntFunction invoker, String[] internalCommands) {
+		this(minecraftKey, invoker, () -> internalCommands);
+	}
+	
+	/**
+	 * Creates a SimpleFunctionWrapper whose internal commands are only created when
+	 * they are first requested
+	 * @param minecraftKey the MinecraftKey which is used to reference this function
+	 * @param invoker a method which, when invoked, runs the function
+	 * @param internalCommands a supplier of the internal commands that this customFunction represents. This is called at most once
+	 */
+	@SuppressWarnings("unchecked")
+	public SimpleFunctionWrapper(NamespacedKey minecraftKey, @SuppressWarnings("rawtypes") ToIntFunction invoker, Supplier<String[]> internalCommands) {
 		this.minecraftKey = minecraftKey;
 		this.functionExecutor = invoker;
-		this.internalCommands = internalCommands;
+		this.internalCommands = LazyCommands.of(internalCommands);
 	}
 	
 	SimpleFunctionWrapper(SimpleFunctionWrapper functionWrapper) {
@@ -106,7 +118,7 @@ public class SimpleFunctionWrapper implements Keyed {
 	 * @return the commands that are defined by this custom function
 	 */
 	public String[] getCommands() {
-		return this.internalCommands;
+		return this.internalCommands.get();
 	}
 	
 	int runInternal(Object clw) {
@@ -122,4 +134,37 @@ public class SimpleFunctionWrapper implements Keyed {
 		return minecraftKey;
 	}
 	
+	/**
+	 * Creates the internal commands of a function once, and shares them between
+	 * every wrapper of that function
+	 */
+	private static final class LazyCommands implements Supplier<String[]> {
+		
+		private final Supplier<String[]> supplier;
+		private volatile String[] commands;
+		
+		private LazyCommands(Supplier<String[]> supplier) {
+			this.supplier = supplier;
+		}
+		
+		static Supplier<String[]> of(Supplier<String[]> supplier) {
+			return supplier instanceof LazyCommands ? supplier : new LazyCommands(supplier);
+		}
+		
+		@Override
+		public String[] get() {
+			String[] result = commands;
+			if (result == null) {
+				synchronized (this) {
+					result = commands;
+					if (result == null) {
+						result = supplier.get();
+						commands = result;
+					}
+				}
+			}
+			return result;
+		}
+	}
+	
 }
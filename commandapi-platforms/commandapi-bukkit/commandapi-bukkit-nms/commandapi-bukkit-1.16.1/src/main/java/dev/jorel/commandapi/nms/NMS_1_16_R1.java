@@ -2,8 +2,6 @@ package dev.jorel.commandapi.nms;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -47,7 +45,6 @@ import org.bukkit.craftbukkit.v1_16_R1.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_16_R1.enchantments.CraftEnchantment;
 import org.bukkit.craftbukkit.v1_16_R1.entity.CraftEntity;
 import org.bukkit.craftbukkit.v1_16_R1.entity.CraftPlayer;
-import org.bukkit.craftbukkit.v1_16_R1.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_16_R1.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_16_R1.inventory.CraftItemStack;
 import org.bukkit.craftbukkit.v1_16_R1.potion.CraftPotionEffectType;
@@ -74,6 +71,7 @@ import com.mojang.brigadier.suggestion.Suggestions;
 
 import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.SafeFieldSetter;
 import dev.jorel.commandapi.SafeVarHandle;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
@@ -189,6 +187,9 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 	private static final SafeVarHandle<ParticleParamItem, ItemStack> particleParamItemStack;
 	private static final SafeVarHandle<ParticleParamRedstone, Float> particleParamRedstoneSize;
 	private static final SafeVarHandle<ArgumentPredicateItemStack, NBTTagCompound> itemStackPredicateArgument;
+	private static final SafeFieldSetter<EntitySelector, Boolean> entitySelectorCheckPermissions;
+	private static final SafeVarHandle<CraftSound, String> craftSoundMinecraftKey;
+	private static final SafeFieldSetter<CustomFunctionManager, CommandDispatcher<CommandListenerWrapper>> customFunctionManagerDispatcher;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
@@ -199,6 +200,9 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 		particleParamItemStack = SafeVarHandle.ofOrNull(ParticleParamItem.class, "c", "c", ItemStack.class);
 		particleParamRedstoneSize = SafeVarHandle.ofOrNull(ParticleParamRedstone.class, "f", "f", float.class);
 		itemStackPredicateArgument = SafeVarHandle.ofOrNull(ArgumentPredicateItemStack.class, "c", "c", NBTTagCompound.class);
+		entitySelectorCheckPermissions = SafeFieldSetter.ofOrNull(EntitySelector.class, "checkPermissions", "checkPermissions");
+		craftSoundMinecraftKey = SafeVarHandle.ofOrNull(CraftSound.class, "minecraftKey", "minecraftKey", String.class);
+		customFunctionManagerDispatcher = SafeFieldSetter.ofOrNull(CustomFunctionManager.class, "g", "g");
 	}
 
 	@SuppressWarnings("deprecation")
@@ -426,16 +430,23 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 		return CraftSound.getSound(sound);
 	}
 
-	// Converts NMS function to SimpleFunctionWrapper
+	// Converts NMS function to SimpleFunctionWrapper, reusing the wrapper created for it earlier
 	private SimpleFunctionWrapper convertFunction(CustomFunction customFunction) {
+		return getFunctionWrapperCache().getOrConvert(customFunction.a(), customFunction, this::createFunctionWrapper);
+	}
+
+	private SimpleFunctionWrapper createFunctionWrapper(CustomFunction customFunction) {
 		ToIntFunction<CommandListenerWrapper> appliedObj = clw -> this.<MinecraftServer>getMinecraftServer().getFunctionData().a(customFunction, clw);
 
-		Object[] cArr = customFunction.b();
-		String[] result = new String[cArr.length];
-		for (int i = 0, size = cArr.length; i < size; i++) {
-			result[i] = cArr[i].toString();
-		}
-		return new SimpleFunctionWrapper(fromMinecraftKey(customFunction.a()), appliedObj, result);
+		// Functions can have thousands of entries, so they are only converted to strings when needed
+		return new SimpleFunctionWrapper(fromMinecraftKey(customFunction.a()), appliedObj, () -> {
+			Object[] cArr = customFunction.b();
+			String[] result = new String[cArr.length];
+			for (int i = 0, size = cArr.length; i < size; i++) {
+				result[i] = cArr[i].toString();
+			}
+			return result;
+		});
 	}
 
 	@Override
@@ -444,11 +455,6 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 				.toJson(ArgumentRegistry.a(dispatcher, dispatcher.getRoot())), file, StandardCharsets.UTF_8);
 	}
 
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public org.bukkit.advancement.Advancement getAdvancement(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		return ArgumentMinecraftKeyRegistered.a(cmdCtx, key).bukkit;
@@ -555,11 +561,7 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 	@Override
 	public Object getEntitySelector(CommandContext<CommandListenerWrapper> cmdCtx, String str, ArgumentSubType subType) throws CommandSyntaxException {
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			CommandAPIHandler.getField(EntitySelector.class, "checkPermissions", "checkPermissions").set(argument, false);
-		} catch (IllegalArgumentException | IllegalAccessException e1) {
-			e1.printStackTrace();
-		}
+		entitySelectorCheckPermissions.set(argument, false);
 
 		return switch (subType) {
 			case ENTITYSELECTOR_MANY_ENTITIES:
@@ -614,10 +616,12 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 			throws CommandSyntaxException {
 		List<FunctionWrapper> result = new ArrayList<>();
 		CommandListenerWrapper commandListenerWrapper = cmdCtx.getSource().a().b(2);
+		// Shared by every function, so runAllAs only creates one source per entity. Functions
+		// run as an entity use the command's own source, as runAs always has
+		Function<org.bukkit.entity.Entity, Object> mapper = entity -> cmdCtx.getSource().a(((CraftEntity) entity).getHandle());
 
 		for (CustomFunction customFunction : ArgumentTag.a(cmdCtx, key)) {
-			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(customFunction),
-					commandListenerWrapper, e -> cmdCtx.getSource().a(((CraftEntity) e).getHandle())));
+			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(customFunction), commandListenerWrapper, mapper));
 		}
 
 		return result.toArray(new FunctionWrapper[0]);
@@ -650,21 +654,14 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 	public org.bukkit.inventory.ItemStack getItemStack(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		ArgumentPredicateItemStack input = ArgumentItemStack.a(cmdCtx, key);
 
-		// Create the basic ItemStack with an amount of 1
-		ItemStack itemWithMaybeTag = input.a(1, false);
-
-		// Try and find the amount from the CompoundTag (if present)
+		// Find the amount from the CompoundTag (if present), so the ItemStack
+		// only has to be created once
 		final NBTTagCompound tag = itemStackPredicateArgument.get(input);
-		if(tag != null) {
-			// The tag has some extra metadata we need! Get the Count (amount)
-			// and create the ItemStack with the correct metadata
-			int count = (int) tag.getByte("Count");
-			itemWithMaybeTag = input.a(count == 0 ? 1 : count, false);
-		}
+		int count = tag == null ? 0 : (int) tag.getByte("Count");
+		ItemStack item = input.a(count == 0 ? 1 : count, false);
 
-		org.bukkit.inventory.ItemStack result = CraftItemStack.asBukkitCopy(itemWithMaybeTag);
-		result.setItemMeta(CraftItemStack.getItemMeta(itemWithMaybeTag));
-		return result;
+		// asBukkitCopy already copies the ItemStack's metadata
+		return CraftItemStack.asBukkitCopy(item);
 	}
 
 	@Override
@@ -827,15 +824,16 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 		CommandListenerWrapper clw = cmdCtx.getSource();
 
 		CommandSender sender = clw.getBukkitSender();
-		Vec3D pos = clw.getPosition();
-		Vec2F rot = clw.i();
-		World world = getWorldForCSS(clw);
-		Location location = new Location(world, pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
-
 		Entity proxyEntity = clw.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
+
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// Most commands never use the location, so it is only created if it's needed
+			return new BukkitNativeProxyCommandSender(NativeProxyCommandSender.lazy(sender, proxy, () -> {
+				Vec3D pos = clw.getPosition();
+				Vec2F rot = clw.i();
+				return new Location(getWorldForCSS(clw), pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
+			}, () -> getWorldForCSS(clw)));
 		} else {
 			return wrapCommandSender(sender);
 		}
@@ -853,14 +851,8 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 		return switch(subType) {
 			case SOUND_SOUND -> {
 				for (CraftSound sound : CraftSound.values()) {
-					try {
-						if (CommandAPIHandler.getField(CraftSound.class, "minecraftKey", "minecraftKey").get(sound)
-								.equals(soundResource.getKey())) {
-							yield Sound.valueOf(sound.name());
-						}
-					} catch (IllegalArgumentException | IllegalAccessException e1) {
-						e1.printStackTrace();
-						yield null;
+					if (craftSoundMinecraftKey.get(sound).equals(soundResource.getKey())) {
+						yield Sound.valueOf(sound.name());
 					}
 				}
 				yield null;
@@ -946,6 +938,7 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 	@Override
 	public void reloadDataPacks() {
 		CommandAPI.getLogger().info("Reloading datapacks...");
+		long startTime = System.nanoTime();
 
 		// Get previously declared recipes to be re-registered later
 		Iterator<Recipe> recipes = Bukkit.recipeIterator();
@@ -956,12 +949,7 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 
 		// Update the CustomFunctionManager for the datapackResources which now has the
 		// new commandDispatcher
-		try {
-			CommandAPIHandler.getField(CustomFunctionManager.class, "g", "g").set(datapackResources.a(),
-					getBrigadierDispatcher());
-		} catch (IllegalArgumentException | IllegalAccessException e1) {
-			e1.printStackTrace();
-		}
+		customFunctionManagerDispatcher.set(datapackResources.a(), getBrigadierDispatcher());
 
 		// Construct the new CompletableFuture that now uses our updated
 		// datapackResources
@@ -981,17 +969,9 @@ public class NMS_1_16_R1 extends NMSWrapper_1_16_R1 {
 
 			// Register recipes again because reloading datapacks
 			// removes all non-vanilla recipes
-			registerBukkitRecipesSafely(recipes);
-
-			CommandAPI.getLogger().info("Finished reloading datapacks");
+			finishReloadingDataPacks(recipes, startTime, false);
 		} catch (Exception e) {
-			StringWriter stringWriter = new StringWriter();
-			PrintWriter printWriter = new PrintWriter(stringWriter);
-			e.printStackTrace(printWriter);
-
-			CommandAPI.logError(
-					"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
-							+ stringWriter.toString());
+			failReloadingDataPacks(e);
 		}
 	}
 
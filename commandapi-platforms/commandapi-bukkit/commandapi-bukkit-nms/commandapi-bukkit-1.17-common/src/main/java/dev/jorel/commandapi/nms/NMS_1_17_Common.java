@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
@@ -57,7 +58,6 @@ import org.bukkit.craftbukkit.v1_17_R1.block.data.CraftBlockData;
 import org.bukkit.craftbukkit.v1_17_R1.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_17_R1.entity.CraftEntity;
 import org.bukkit.craftbukkit.v1_17_R1.entity.CraftPlayer;
-import org.bukkit.craftbukkit.v1_17_R1.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_17_R1.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_17_R1.inventory.CraftItemStack;
 import org.bukkit.enchantments.Enchantment;
@@ -79,7 +79,7 @@ import com.mojang.brigadier.suggestion.SuggestionProvider;
 import com.mojang.brigadier.suggestion.Suggestions;
 
 import dev.jorel.commandapi.CommandAPI;
-import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.SafeFieldSetter;
 import dev.jorel.commandapi.SafeVarHandle;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
@@ -94,7 +94,6 @@ import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 import dev.jorel.commandapi.wrappers.ParticleData;
 import dev.jorel.commandapi.wrappers.SimpleFunctionWrapper;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.minecraft.commands.CommandFunction;
 import net.minecraft.commands.CommandFunction.Entry;
 import net.minecraft.commands.CommandSourceStack;
@@ -163,12 +162,16 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
 	private static final SafeVarHandle<ItemInput, CompoundTag> itemInput;
+	private static final SafeFieldSetter<EntitySelector, Boolean> entitySelectorUsesSelector;
+	protected static final SafeFieldSetter<ServerFunctionLibrary, CommandDispatcher<CommandSourceStack>> serverFunctionLibraryDispatcher;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
 		itemInput = SafeVarHandle.ofOrNull(ItemInput.class, "c", "tag", CompoundTag.class);
+		entitySelectorUsesSelector = SafeFieldSetter.ofOrNull(EntitySelector.class, "o", "usesSelector");
+		serverFunctionLibraryDispatcher = SafeFieldSetter.ofOrNull(ServerFunctionLibrary.class, "i", "dispatcher");
 	}
 
 	private static NamespacedKey fromResourceLocation(ResourceLocation key) {
@@ -252,16 +255,23 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 		return CraftParticle.toNMS(particle.particle(), particle.data()).writeToString();
 	}
 
-	// Converts NMS function to SimpleFunctionWrapper
+	// Converts NMS function to SimpleFunctionWrapper, reusing the wrapper created for it earlier
 	private SimpleFunctionWrapper convertFunction(CommandFunction commandFunction) {
+		return getFunctionWrapperCache().getOrConvert(commandFunction.getId(), commandFunction, this::createFunctionWrapper);
+	}
+
+	private SimpleFunctionWrapper createFunctionWrapper(CommandFunction commandFunction) {
 		ToIntFunction<CommandSourceStack> appliedObj = (CommandSourceStack css) -> this.<MinecraftServer>getMinecraftServer().getFunctions().execute(commandFunction, css);
 
-		Entry[] cArr = commandFunction.getEntries();
-		String[] result = new String[cArr.length];
-		for (int i = 0, size = cArr.length; i < size; i++) {
-			result[i] = cArr[i].toString();
-		}
-		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, result);
+		// Functions can have thousands of entries, so they are only converted to strings when needed
+		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, () -> {
+			Entry[] cArr = commandFunction.getEntries();
+			String[] result = new String[cArr.length];
+			for (int i = 0, size = cArr.length; i < size; i++) {
+				result[i] = cArr[i].toString();
+			}
+			return result;
+		});
 	}
 
 	@Override
@@ -271,14 +281,9 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 					.toJson(ArgumentTypes.serializeNodeToJson(dispatcher, dispatcher.getRoot())), file, StandardCharsets.UTF_8);
 	}
 
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public Component getAdventureChatComponent(CommandContext<CommandSourceStack> cmdCtx, String key) {
-		return GsonComponentSerializer.gson().deserialize(Serializer.toJson(ComponentArgument.getComponent(cmdCtx, key)));
+		return toAdventureComponent(ComponentArgument.getComponent(cmdCtx, key));
 	}
 
 	@Override
@@ -339,17 +344,19 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 		// entity selectors
 		// to be used by anyone that registers a command via the CommandAPI.
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			CommandAPIHandler.getField(EntitySelector.class, "o", "usesSelector").set(argument, false);
-		} catch (IllegalArgumentException | IllegalAccessException e1) {
-			e1.printStackTrace();
-		}
+		entitySelectorUsesSelector.set(argument, false);
 
+		CommandSourceStack source = cmdCtx.getSource();
+		return getEntitySelectorCache().getOrFind(cmdCtx, str, subType, source.getLevel(), source.getPosition(), source.getEntity(),
+			() -> findEntities(argument, source, subType));
+	}
+
+	private static Object findEntities(EntitySelector argument, CommandSourceStack source, ArgumentSubType subType) throws CommandSyntaxException {
 		return switch (subType) {
 			case ENTITYSELECTOR_MANY_ENTITIES:
 				try {
 					List<org.bukkit.entity.Entity> result = new ArrayList<>();
-					for (Entity entity : argument.findEntities(cmdCtx.getSource())) {
+					for (Entity entity : argument.findEntities(source)) {
 						result.add(entity.getBukkitEntity());
 					}
 					yield result;
@@ -359,7 +366,7 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 			case ENTITYSELECTOR_MANY_PLAYERS:
 				try {
 					List<Player> result = new ArrayList<>();
-					for (ServerPlayer player : argument.findPlayers(cmdCtx.getSource())) {
+					for (ServerPlayer player : argument.findPlayers(source)) {
 						result.add(player.getBukkitEntity());
 					}
 					yield result;
@@ -367,9 +374,9 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 					yield new ArrayList<Player>();
 				}
 			case ENTITYSELECTOR_ONE_ENTITY:
-				yield argument.findSingleEntity(cmdCtx.getSource()).getBukkitEntity();
+				yield argument.findSingleEntity(source).getBukkitEntity();
 			case ENTITYSELECTOR_ONE_PLAYER:
-				yield argument.findSinglePlayer(cmdCtx.getSource()).getBukkitEntity();
+				yield argument.findSinglePlayer(source).getBukkitEntity();
 			default:
 				throw new IllegalArgumentException("Unexpected value: " + subType);
 		};
@@ -385,10 +392,12 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 	public FunctionWrapper[] getFunction(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		List<FunctionWrapper> result = new ArrayList<>();
 		CommandSourceStack css = cmdCtx.getSource().withSuppressedOutput().withMaximumPermission(2);
+		// Shared by every function, so runAllAs only creates one source per entity. Functions
+		// run as an entity use the command's own source, as runAs always has
+		Function<org.bukkit.entity.Entity, Object> mapper = entity -> cmdCtx.getSource().withEntity(((CraftEntity) entity).getHandle());
 
 		for (CommandFunction commandFunction : FunctionArgument.getFunctions(cmdCtx, key)) {
-			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(commandFunction), css,
-					entity -> cmdCtx.getSource().withEntity(((CraftEntity) entity).getHandle())));
+			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(commandFunction), css, mapper));
 		}
 		return result.toArray(new FunctionWrapper[0]);
 	}
@@ -419,21 +428,14 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 	public org.bukkit.inventory.ItemStack getItemStack(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		ItemInput input = ItemArgument.getItem(cmdCtx, key);
 
-		// Create the basic ItemStack with an amount of 1
-		net.minecraft.world.item.ItemStack itemWithMaybeTag = input.createItemStack(1, false);
-
-		// Try and find the amount from the CompoundTag (if present)
+		// Find the amount from the CompoundTag (if present), so the ItemStack
+		// only has to be created once
 		final CompoundTag tag = itemInput.get(input);
-		if(tag != null) {
-			// The tag has some extra metadata we need! Get the Count (amount)
-			// and create the ItemStack with the correct metadata
-			int count = (int) tag.getByte("Count");
-			itemWithMaybeTag = input.createItemStack(count == 0 ? 1 : count, false);
-		}
+		int count = tag == null ? 0 : (int) tag.getByte("Count");
+		net.minecraft.world.item.ItemStack item = input.createItemStack(count == 0 ? 1 : count, false);
 
-		org.bukkit.inventory.ItemStack result = CraftItemStack.asBukkitCopy(itemWithMaybeTag);
-		result.setItemMeta(CraftItemStack.getItemMeta(itemWithMaybeTag));
-		return result;
+		// asBukkitCopy already copies the ItemStack's metadata
+		return CraftItemStack.asBukkitCopy(item);
 	}
 
 	@Override
@@ -550,15 +552,16 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 		CommandSourceStack css = cmdCtx.getSource();
 
 		CommandSender sender = css.getBukkitSender();
-		Vec3 pos = css.getPosition();
-		Vec2 rot = css.getRotation();
-		World world = getWorldForCSS(css);
-		Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.y, rot.x);
-
 		Entity proxyEntity = css.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
+
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// Most commands never use the location, so it is only created if it's needed
+			return new BukkitNativeProxyCommandSender(NativeProxyCommandSender.lazy(sender, proxy, () -> {
+				Vec3 pos = css.getPosition();
+				Vec2 rot = css.getRotation();
+				return new Location(getWorldForCSS(css), pos.x(), pos.y(), pos.z(), rot.y, rot.x);
+			}, () -> getWorldForCSS(css)));
 		} else {
 			return wrapCommandSender(sender);
 		}
@@ -20,8 +20,6 @@
  *******************************************************************************/
 package dev.jorel.commandapi.nms;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -30,11 +28,9 @@ import org.bukkit.Bukkit;
 import org.bukkit.inventory.Recipe;
 
 import dev.jorel.commandapi.CommandAPI;
-import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.preprocessor.NMSMeta;
 import net.minecraft.Util;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.ServerFunctionLibrary;
 import net.minecraft.server.ServerResources;
 import net.minecraft.server.packs.resources.ReloadableResourceManager;
 
@@ -53,6 +49,7 @@ public class NMS_1_17 extends NMS_1_17_Common {
 	@Override
 	public void reloadDataPacks() {
 		CommandAPI.logNormal("Reloading datapacks...");
+		long startTime = System.nanoTime();
 
 		// Get previously declared recipes to be re-registered later
 		Iterator<Recipe> recipes = Bukkit.recipeIterator();
@@ -62,12 +59,7 @@ public class NMS_1_17 extends NMS_1_17_Common {
 		serverResources.commands = this.<MinecraftServer>getMinecraftServer().getCommands();
 
 		// Update the ServerFunctionLibrary's command dispatcher with the new one
-		try {
-			CommandAPIHandler.getField(ServerFunctionLibrary.class, "i", "dispatcher")
-				.set(serverResources.getFunctionLibrary(), getBrigadierDispatcher());
-		} catch (ReflectiveOperationException e) {
-			e.printStackTrace();
-		}
+		serverFunctionLibraryDispatcher.set(serverResources.getFunctionLibrary(), getBrigadierDispatcher());
 
 		// Construct the new CompletableFuture that now uses our updated serverResources
 		CompletableFuture<?> unitCompletableFuture = ((ReloadableResourceManager) serverResources.getResourceManager())
@@ -87,28 +79,14 @@ public class NMS_1_17 extends NMS_1_17_Common {
 
 			// Register recipes again because reloading datapacks
 			// removes all non-vanilla recipes
-			registerBukkitRecipesSafely(recipes);
-
-			CommandAPI.logNormal("Finished reloading datapacks");
+			finishReloadingDataPacks(recipes, startTime, false);
 		} catch (InterruptedException e) {
-			StringWriter stringWriter = new StringWriter();
-			PrintWriter printWriter = new PrintWriter(stringWriter);
-			e.printStackTrace(printWriter);
-
-			CommandAPI.logError(
-				"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
-					+ stringWriter.toString());
+			failReloadingDataPacks(e);
 		
 			// (╯°□°)╯︵ ┻━┻
 			Thread.currentThread().interrupt();
 		} catch (ExecutionException e) {
-			StringWriter stringWriter = new StringWriter();
-			PrintWriter printWriter = new PrintWriter(stringWriter);
-			e.printStackTrace(printWriter);
-
-			CommandAPI.logError(
-				"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
-					+ stringWriter.toString());
+			failReloadingDataPacks(e);
 		}
 	}
 }
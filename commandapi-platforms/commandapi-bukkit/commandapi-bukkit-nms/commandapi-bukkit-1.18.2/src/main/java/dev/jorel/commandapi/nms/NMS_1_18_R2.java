@@ -22,8 +22,6 @@ package dev.jorel.commandapi.nms;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -34,6 +32,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
@@ -62,7 +61,6 @@ import org.bukkit.craftbukkit.v1_18_R2.block.data.CraftBlockData;
 import org.bukkit.craftbukkit.v1_18_R2.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_18_R2.entity.CraftEntity;
 import org.bukkit.craftbukkit.v1_18_R2.entity.CraftPlayer;
-import org.bukkit.craftbukkit.v1_18_R2.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_18_R2.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_18_R2.inventory.CraftItemStack;
 import org.bukkit.enchantments.Enchantment;
@@ -86,7 +84,7 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.logging.LogUtils;
 
 import dev.jorel.commandapi.CommandAPI;
-import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.SafeFieldSetter;
 import dev.jorel.commandapi.SafeVarHandle;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
@@ -103,7 +101,6 @@ import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 import dev.jorel.commandapi.wrappers.ParticleData;
 import dev.jorel.commandapi.wrappers.SimpleFunctionWrapper;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.minecraft.commands.CommandFunction;
 import net.minecraft.commands.CommandFunction.Entry;
 import net.minecraft.commands.CommandSourceStack;
@@ -182,12 +179,16 @@ public class NMS_1_18_R2 extends NMS_Common {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
 	private static final SafeVarHandle<ItemInput, CompoundTag> itemInput;
+	private static final SafeFieldSetter<EntitySelector, Boolean> entitySelectorUsesSelector;
+	private static final SafeFieldSetter<ServerFunctionLibrary, CommandDispatcher<CommandSourceStack>> serverFunctionLibraryDispatcher;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
 		itemInput = SafeVarHandle.ofOrNull(ItemInput.class, "c", "tag", CompoundTag.class);
+		entitySelectorUsesSelector = SafeFieldSetter.ofOrNull(EntitySelector.class, "o", "usesSelector");
+		serverFunctionLibraryDispatcher = SafeFieldSetter.ofOrNull(ServerFunctionLibrary.class, "i", "dispatcher");
 	}
 
 	private static NamespacedKey fromResourceLocation(ResourceLocation key) {
@@ -274,16 +275,23 @@ public class NMS_1_18_R2 extends NMS_Common {
 		return CraftParticle.toNMS(particle.particle(), particle.data()).writeToString();
 	}
 
-	// Converts NMS function to SimpleFunctionWrapper
+	// Converts NMS function to SimpleFunctionWrapper, reusing the wrapper created for it earlier
 	private SimpleFunctionWrapper convertFunction(CommandFunction commandFunction) {
+		return getFunctionWrapperCache().getOrConvert(commandFunction.getId(), commandFunction, this::createFunctionWrapper);
+	}
+
+	private SimpleFunctionWrapper createFunctionWrapper(CommandFunction commandFunction) {
 		ToIntFunction<CommandSourceStack> appliedObj = (CommandSourceStack css) -> this.<MinecraftServer>getMinecraftServer().getFunctions().execute(commandFunction, css);
 
-		Entry[] cArr = commandFunction.getEntries();
-		String[] result = new String[cArr.length];
-		for (int i = 0, size = cArr.length; i < size; i++) {
-			result[i] = cArr[i].toString();
-		}
-		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, result);
+		// Functions can have thousands of entries, so they are only converted to strings when needed
+		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, () -> {
+			Entry[] cArr = commandFunction.getEntries();
+			String[] result = new String[cArr.length];
+			for (int i = 0, size = cArr.length; i < size; i++) {
+				result[i] = cArr[i].toString();
+			}
+			return result;
+		});
 	}
 
 	@Override
@@ -292,14 +300,9 @@ public class NMS_1_18_R2 extends NMS_Common {
 				.toJson(ArgumentTypes.serializeNodeToJson(dispatcher, dispatcher.getRoot())));
 	}
 
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public Component getAdventureChatComponent(CommandContext<CommandSourceStack> cmdCtx, String key) {
-		return GsonComponentSerializer.gson().deserialize(Serializer.toJson(ComponentArgument.getComponent(cmdCtx, key)));
+		return toAdventureComponent(ComponentArgument.getComponent(cmdCtx, key));
 	}
 
 	@Differs(from = "1.18", by = "Implement biome argument which contains either a biome or a tag (instead of just a biome)")
@@ -398,17 +401,19 @@ public class NMS_1_18_R2 extends NMS_Common {
 		// entity selectors
 		// to be used by anyone that registers a command via the CommandAPI.
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			CommandAPIHandler.getField(EntitySelector.class, "o", "usesSelector").set(argument, false);
-		} catch (IllegalArgumentException | IllegalAccessException e1) {
-			e1.printStackTrace();
-		}
+		entitySelectorUsesSelector.set(argument, false);
 
+		CommandSourceStack source = cmdCtx.getSource();
+		return getEntitySelectorCache().getOrFind(cmdCtx, str, subType, source.getLevel(), source.getPosition(), source.getEntity(),
+			() -> findEntities(argument, source, subType));
+	}
+
+	private static Object findEntities(EntitySelector argument, CommandSourceStack source, ArgumentSubType subType) throws CommandSyntaxException {
 		return switch (subType) {
 			case ENTITYSELECTOR_MANY_ENTITIES:
 				try {
 					List<org.bukkit.entity.Entity> result = new ArrayList<>();
-					for (Entity entity : argument.findEntities(cmdCtx.getSource())) {
+					for (Entity entity : argument.findEntities(source)) {
 						result.add(entity.getBukkitEntity());
 					}
 					yield result;
@@ -418,7 +423,7 @@ public class NMS_1_18_R2 extends NMS_Common {
 			case ENTITYSELECTOR_MANY_PLAYERS:
 				try {
 					List<Player> result = new ArrayList<>();
-					for (ServerPlayer player : argument.findPlayers(cmdCtx.getSource())) {
+					for (ServerPlayer player : argument.findPlayers(source)) {
 						result.add(player.getBukkitEntity());
 					}
 					yield result;
@@ -426,9 +431,9 @@ public class NMS_1_18_R2 extends NMS_Common {
 					yield new ArrayList<Player>();
 				}
 			case ENTITYSELECTOR_ONE_ENTITY:
-				yield argument.findSingleEntity(cmdCtx.getSource()).getBukkitEntity();
+				yield argument.findSingleEntity(source).getBukkitEntity();
 			case ENTITYSELECTOR_ONE_PLAYER:
-				yield argument.findSinglePlayer(cmdCtx.getSource()).getBukkitEntity();
+				yield argument.findSinglePlayer(source).getBukkitEntity();
 			default:
 				throw new IllegalArgumentException("Unexpected value: " + subType);
 		};
@@ -444,10 +449,12 @@ public class NMS_1_18_R2 extends NMS_Common {
 	public FunctionWrapper[] getFunction(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		List<FunctionWrapper> result = new ArrayList<>();
 		CommandSourceStack css = cmdCtx.getSource().withSuppressedOutput().withMaximumPermission(2);
+		// Shared by every function, so runAllAs only creates one source per entity. Functions
+		// run as an entity use the command's own source, as runAs always has
+		Function<org.bukkit.entity.Entity, Object> mapper = entity -> cmdCtx.getSource().withEntity(((CraftEntity) entity).getHandle());
 
 		for (CommandFunction commandFunction : FunctionArgument.getFunctions(cmdCtx, key)) {
-			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(commandFunction), css,
-					entity -> cmdCtx.getSource().withEntity(((CraftEntity) entity).getHandle())));
+			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(commandFunction), css, mapper));
 		}
 		return result.toArray(new FunctionWrapper[0]);
 	}
@@ -478,21 +485,14 @@ public class NMS_1_18_R2 extends NMS_Common {
 	public org.bukkit.inventory.ItemStack getItemStack(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		ItemInput input = ItemArgument.getItem(cmdCtx, key);
 
-		// Create the basic ItemStack with an amount of 1
-		net.minecraft.world.item.ItemStack itemWithMaybeTag = input.createItemStack(1, false);
-
-		// Try and find the amount from the CompoundTag (if present)
+		// Find the amount from the CompoundTag (if present), so the ItemStack
+		// only has to be created once
 		final CompoundTag tag = itemInput.get(input);
-		if(tag != null) {
-			// The tag has some extra metadata we need! Get the Count (amount)
-			// and create the ItemStack with the correct metadata
-			int count = (int) tag.getByte("Count");
-			itemWithMaybeTag = input.createItemStack(count == 0 ? 1 : count, false);
-		}
+		int count = tag == null ? 0 : (int) tag.getByte("Count");
+		net.minecraft.world.item.ItemStack item = input.createItemStack(count == 0 ? 1 : count, false);
 
-		org.bukkit.inventory.ItemStack result = CraftItemStack.asBukkitCopy(itemWithMaybeTag);
-		result.setItemMeta(CraftItemStack.getItemMeta(itemWithMaybeTag));
-		return result;
+		// asBukkitCopy already copies the ItemStack's metadata
+		return CraftItemStack.asBukkitCopy(item);
 	}
 
 	@Override
@@ -610,15 +610,16 @@ public class NMS_1_18_R2 extends NMS_Common {
 		CommandSourceStack css = cmdCtx.getSource();
 
 		CommandSender sender = css.getBukkitSender();
-		Vec3 pos = css.getPosition();
-		Vec2 rot = css.getRotation();
-		World world = getWorldForCSS(css);
-		Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.y, rot.x);
-
 		Entity proxyEntity = css.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
+
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// Most commands never use the location, so it is only created if it's needed
+			return new BukkitNativeProxyCommandSender(NativeProxyCommandSender.lazy(sender, proxy, () -> {
+				Vec3 pos = css.getPosition();
+				Vec2 rot = css.getRotation();
+				return new Location(getWorldForCSS(css), pos.x(), pos.y(), pos.z(), rot.y, rot.x);
+			}, () -> getWorldForCSS(css)));
 		} else {
 			return wrapCommandSender(sender);
 		}
@@ -696,6 +697,7 @@ public class NMS_1_18_R2 extends NMS_Common {
 	@Override
 	public void reloadDataPacks() {
 		CommandAPI.logNormal("Reloading datapacks...");
+		long startTime = System.nanoTime();
 
 		// Get previously declared recipes to be re-registered later
 		Iterator<Recipe> recipes = Bukkit.recipeIterator();
@@ -705,12 +707,7 @@ public class NMS_1_18_R2 extends NMS_Common {
 		serverResources.managers().commands = this.<MinecraftServer>getMinecraftServer().getCommands();
 
 		// Update the ServerFunctionLibrary's command dispatcher with the new one
-		try {
-			CommandAPIHandler.getField(ServerFunctionLibrary.class, "i", "dispatcher")
-					.set(serverResources.managers().getFunctionLibrary(), getBrigadierDispatcher());
-		} catch (ReflectiveOperationException e) {
-			e.printStackTrace();
-		}
+		serverFunctionLibraryDispatcher.set(serverResources.managers().getFunctionLibrary(), getBrigadierDispatcher());
 
 		// From this.<MinecraftServer>getMinecraftServer().reloadResources //
 		// Discover new packs
@@ -798,17 +795,9 @@ public class NMS_1_18_R2 extends NMS_Common {
 
 			// Register recipes again because reloading datapacks
 			// removes all non-vanilla recipes
-			registerBukkitRecipesSafely(recipes);
-
-			CommandAPI.logNormal("Finished reloading datapacks");
+			finishReloadingDataPacks(recipes, startTime, false);
 		} catch (Exception e) {
-			StringWriter stringWriter = new StringWriter();
-			PrintWriter printWriter = new PrintWriter(stringWriter);
-			e.printStackTrace(printWriter);
-
-			CommandAPI.logError(
-					"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
-							+ stringWriter.toString());
+			failReloadingDataPacks(e);
 		}
 	}
 
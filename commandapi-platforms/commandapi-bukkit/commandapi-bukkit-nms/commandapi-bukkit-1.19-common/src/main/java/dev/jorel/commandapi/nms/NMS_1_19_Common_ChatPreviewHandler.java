@@ -4,6 +4,7 @@ import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.context.ParsedCommandNode;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.arguments.PreviewInfo;
@@ -22,13 +23,20 @@ import net.minecraft.network.Connection;
 import net.minecraft.network.chat.Component.Serializer;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.protocol.game.ServerboundChatPreviewPacket;
+import org.bukkit.Bukkit;
 import org.bukkit.craftbukkit.v1_19_R1.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHandler {
 
@@ -37,6 +45,69 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 	protected final Player player;
 	protected final Connection connection;
 
+	// How many parsed queries to remember. Queries are parsed when they are received
+	// on the netty thread and used again when the preview is generated, and the
+	// throttler may let a few more queries arrive in between
+	private static final int PARSE_CACHE_SIZE = 4;
+
+	// Recently parsed queries for this connection. Accessed from both the netty
+	// thread and the main thread
+	private final Map<String, InitialParse> parseCache = new LinkedHashMap<>(PARSE_CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, InitialParse> eldest) {
+			return size() > PARSE_CACHE_SIZE;
+		}
+	};
+
+	// Only the latest query of a player is previewed. Queries that arrive while
+	// another is waiting to be previewed replace it
+	private final AtomicReference<ServerboundChatPreviewPacket> pendingQuery = new AtomicReference<>();
+
+	// Each player can generate up to PREVIEW_BURST previews at once, and then
+	// PREVIEWS_PER_SECOND previews a second. Only accessed on the main thread
+	private static final double PREVIEWS_PER_SECOND = 10;
+	private static final double PREVIEW_BURST = 5;
+	private double previewTokens = PREVIEW_BURST;
+	private long lastTokenRefill = System.nanoTime();
+
+	// Previews that take longer than this are logged. Previews are generated as
+	// players type, so only the first slow preview of each previewable argument is
+	// a warning, and the rest are only logged with verbose output
+	private static final long SLOW_PREVIEW_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+	private static final Set<List<String>> slowPreviewWarnings = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * How long the previews of a previewable argument took to generate
+	 *
+	 * @param count      the number of previews generated
+	 * @param totalNanos the total time spent generating previews, in nanoseconds
+	 * @param maxNanos   the longest time spent generating a preview, in nanoseconds
+	 */
+	public record PreviewTiming(long count, long totalNanos, long maxNanos) {
+
+		/**
+		 * @return the average time spent generating a preview, in nanoseconds
+		 */
+		public long averageNanos() {
+			return count == 0 ? 0 : totalNanos / count;
+		}
+
+		private PreviewTiming add(long nanos) {
+			return new PreviewTiming(count + 1, totalNanos + nanos, Math.max(maxNanos, nanos));
+		}
+	}
+
+	// Timings for each previewable argument, keyed by the path to the argument
+	private static final Map<List<String>, PreviewTiming> previewTimings = new ConcurrentHashMap<>();
+
+	/**
+	 * @return how long the previews of each previewable argument took to generate,
+	 * keyed by the names of the nodes leading to the argument
+	 */
+	public static Map<List<String>, PreviewTiming> getPreviewTimings() {
+		return Map.copyOf(previewTimings);
+	}
+
 	protected NMS_1_19_Common_ChatPreviewHandler(CommandAPIBukkit<CommandSourceStack> platform, Plugin plugin, Player player) {
 		this.platform = platform;
 		this.plugin = plugin;
@@ -51,8 +122,8 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 			// Is command
 			if (!chatPreview.query().isEmpty() && chatPreview.query().charAt(0) == '/') {
 				// Is previewable argument
-				if(InitialParse.processChatPreviewQuery(chatPreview.query(), platform, player).preview.isPresent()){
-					handleChatPreviewPacket(chatPreview);
+				if(processChatPreviewQuery(chatPreview.query()).preview.isPresent()){
+					queueChatPreview(chatPreview);
 					return;
 				}
 			}
@@ -62,10 +133,44 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 		super.channelRead(ctx, msg);
 	}
 
+	private void queueChatPreview(ServerboundChatPreviewPacket chatPreview) {
+		// If a query is already waiting, it is replaced and the task that was
+		// scheduled for it will preview this one instead
+		if (pendingQuery.getAndSet(chatPreview) == null) {
+			Bukkit.getScheduler().runTask(this.plugin, this::previewPendingQuery);
+		}
+	}
+
+	private void previewPendingQuery() {
+		long now = System.nanoTime();
+		previewTokens = Math.min(PREVIEW_BURST, previewTokens + (now - lastTokenRefill) * PREVIEWS_PER_SECOND / TimeUnit.SECONDS.toNanos(1));
+		lastTokenRefill = now;
+
+		if (previewTokens < 1) {
+			// Wait until the player can preview again. Queries that arrive in the
+			// meantime replace the pending query
+			long ticks = (long) Math.ceil((1 - previewTokens) * 20 / PREVIEWS_PER_SECOND);
+			Bukkit.getScheduler().runTaskLater(this.plugin, this::previewPendingQuery, Math.max(1, ticks));
+			return;
+		}
+		previewTokens--;
+
+		ServerboundChatPreviewPacket chatPreview = pendingQuery.getAndSet(null);
+		if (chatPreview != null) {
+			handleChatPreviewPacket(chatPreview);
+		}
+	}
+
+	/**
+	 * Generates and sends the preview for a chat preview query. This is called on
+	 * the main thread, with the latest query that the player sent.
+	 *
+	 * @param chatPreview the chat preview query to respond to
+	 */
 	protected abstract void handleChatPreviewPacket(ServerboundChatPreviewPacket chatPreview);
 
 	public MutableComponent parseChatPreviewQuery(String chatPreviewQuery) {
-		final InitialParse ip = InitialParse.processChatPreviewQuery(chatPreviewQuery, platform, player);
+		final InitialParse ip = processChatPreviewQuery(chatPreviewQuery);
 		final Optional<PreviewableFunction<?>> preview = ip.preview;
 		if (preview.isEmpty()) {
 			return null;
@@ -101,7 +206,12 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 				previewInfo = new PreviewInfo<>(new BukkitPlayer(player), input, chatPreviewQuery, parsedInput);
 			}
 
-			component = preview.get().generatePreview(previewInfo);
+			long startTime = System.nanoTime();
+			try {
+				component = preview.get().generatePreview(previewInfo);
+			} finally {
+				recordPreviewTiming(path, System.nanoTime() - startTime);
+			}
 		} catch (WrapperCommandSyntaxException e) {
 			component = TextComponent.fromLegacyText(e.getMessage() == null ? "" : e.getMessage());
 		}
@@ -125,26 +235,47 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 		return Serializer.fromJson(jsonToSend);
 	}
 
-	private record InitialParse(String fullInput, ParseResults<CommandSourceStack> results, List<String> path, Optional<PreviewableFunction<?>> preview){
-		private static InitialParse cachedResult = null;
-		public static InitialParse processChatPreviewQuery(String chatPreviewQuery, CommandAPIBukkit<CommandSourceStack> platform, Player player){
-			// Substring 1 to get rid of the leading /
-			final String fullInput = chatPreviewQuery.substring(1);
-
-			if(cachedResult != null && cachedResult.fullInput.equals(fullInput)) return cachedResult;
+	private static void recordPreviewTiming(List<String> path, long nanos) {
+		previewTimings.compute(path, (key, timing) -> timing == null ? new PreviewTiming(1, nanos, nanos) : timing.add(nanos));
+		if (nanos > SLOW_PREVIEW_NANOS) {
+			String message = "Generating the chat preview for /" + String.join(" ", path) + " took "
+				+ TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+			if (slowPreviewWarnings.add(path)) {
+				CommandAPI.logWarning(message + ". Further slow previews for this argument are only logged with verbose output");
+			} else if (CommandAPI.getConfiguration().hasVerboseOutput()) {
+				CommandAPI.logInfo(message);
+			}
+		}
+	}
 
-			ParseResults<CommandSourceStack> results = platform.getBrigadierDispatcher()
-				.parse(fullInput, platform.getBrigadierSourceFromCommandSender(new BukkitPlayer(player)));
+	private InitialParse processChatPreviewQuery(String chatPreviewQuery) {
+		// Substring 1 to get rid of the leading /
+		final String fullInput = chatPreviewQuery.substring(1);
 
-			// Generate the path for lookup
-			List<String> path = new ArrayList<>();
-			for (ParsedCommandNode<CommandSourceStack> commandNode : results.getContext().getNodes()) {
-				path.add(commandNode.getNode().getName());
+		synchronized (parseCache) {
+			InitialParse cachedResult = parseCache.get(fullInput);
+			if (cachedResult != null) {
+				return cachedResult;
 			}
-			Optional<PreviewableFunction<?>> preview = CommandAPIHandler.getInstance().lookupPreviewable(path);
+		}
+
+		ParseResults<CommandSourceStack> results = platform.getBrigadierDispatcher()
+			.parse(fullInput, platform.getBrigadierSourceFromCommandSender(new BukkitPlayer(player)));
 
-			cachedResult = new InitialParse(fullInput, results, path, preview);
-			return cachedResult;
+		// Generate the path for lookup
+		List<String> path = new ArrayList<>();
+		for (ParsedCommandNode<CommandSourceStack> commandNode : results.getContext().getNodes()) {
+			path.add(commandNode.getNode().getName());
 		}
+		Optional<PreviewableFunction<?>> preview = CommandAPIHandler.getInstance().lookupPreviewable(path);
+
+		InitialParse result = new InitialParse(fullInput, results, path, preview);
+		synchronized (parseCache) {
+			parseCache.put(fullInput, result);
+		}
+		return result;
+	}
+
+	private record InitialParse(String fullInput, ParseResults<CommandSourceStack> results, List<String> path, Optional<PreviewableFunction<?>> preview) {
 	}
-}
\ No newline at end of file
+}
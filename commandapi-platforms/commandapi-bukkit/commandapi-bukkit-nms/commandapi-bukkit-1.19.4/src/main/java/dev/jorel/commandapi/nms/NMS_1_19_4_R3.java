@@ -22,15 +22,17 @@ package dev.jorel.commandapi.nms;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
@@ -59,12 +61,12 @@ import org.bukkit.craftbukkit.v1_19_R3.block.data.CraftBlockData;
 import org.bukkit.craftbukkit.v1_19_R3.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_19_R3.entity.CraftEntity;
 import org.bukkit.craftbukkit.v1_19_R3.entity.CraftPlayer;
-import org.bukkit.craftbukkit.v1_19_R3.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_19_R3.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_19_R3.inventory.CraftItemStack;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerCommandSendEvent;
 import org.bukkit.help.HelpTopic;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.potion.PotionEffectType;
@@ -75,15 +77,21 @@ import com.google.gson.GsonBuilder;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.Message;
 import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
 import com.mojang.datafixers.util.Either;
 import com.mojang.logging.LogUtils;
 
 import dev.jorel.commandapi.CommandAPI;
-import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandsPacketCache;
+import dev.jorel.commandapi.SafeFieldSetter;
 import dev.jorel.commandapi.SafeVarHandle;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
@@ -100,7 +108,6 @@ import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 import dev.jorel.commandapi.wrappers.ParticleData;
 import dev.jorel.commandapi.wrappers.SimpleFunctionWrapper;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandFunction;
 import net.minecraft.commands.CommandFunction.Entry;
@@ -139,6 +146,7 @@ import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component.Serializer;
+import net.minecraft.network.protocol.game.ClientboundCommandsPacket;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.MinecraftServer.ReloadableResources;
@@ -180,6 +188,8 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
 	private static final SafeVarHandle<ItemInput, CompoundTag> itemInput;
+	private static final SafeFieldSetter<EntitySelector, Boolean> entitySelectorUsesSelector;
+	private static final SafeFieldSetter<ServerFunctionLibrary, CommandDispatcher<CommandSourceStack>> serverFunctionLibraryDispatcher;
 
 	// Derived from net.minecraft.commands.Commands;
 	private static final CommandBuildContext COMMAND_BUILD_CONTEXT;
@@ -195,6 +205,8 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
 		itemInput = SafeVarHandle.ofOrNull(ItemInput.class, "c", "tag", CompoundTag.class);
+		entitySelectorUsesSelector = SafeFieldSetter.ofOrNull(EntitySelector.class, "p", "usesSelector");
+		serverFunctionLibraryDispatcher = SafeFieldSetter.ofOrNull(ServerFunctionLibrary.class, "g", "dispatcher");
 	}
 
 	private static NamespacedKey fromResourceLocation(ResourceLocation key) {
@@ -269,16 +281,23 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 		return CraftParticle.toNMS(particle.particle(), particle.data()).writeToString();
 	}
 
-	// Converts NMS function to SimpleFunctionWrapper
+	// Converts NMS function to SimpleFunctionWrapper, reusing the wrapper created for it earlier
 	private final SimpleFunctionWrapper convertFunction(CommandFunction commandFunction) {
+		return getFunctionWrapperCache().getOrConvert(commandFunction.getId(), commandFunction, this::createFunctionWrapper);
+	}
+
+	private final SimpleFunctionWrapper createFunctionWrapper(CommandFunction commandFunction) {
 		ToIntFunction<CommandSourceStack> appliedObj = (CommandSourceStack css) -> this.<MinecraftServer>getMinecraftServer().getFunctions().execute(commandFunction, css);
 
-		Entry[] cArr = commandFunction.getEntries();
-		String[] result = new String[cArr.length];
-		for (int i = 0, size = cArr.length; i < size; i++) {
-			result[i] = cArr[i].toString();
-		}
-		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, result);
+		// Functions can have thousands of entries, so they are only converted to strings when needed
+		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, () -> {
+			Entry[] cArr = commandFunction.getEntries();
+			String[] result = new String[cArr.length];
+			for (int i = 0, size = cArr.length; i < size; i++) {
+				result[i] = cArr[i].toString();
+			}
+			return result;
+		});
 	}
 
 	@Override
@@ -287,14 +306,9 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 			.toJson(ArgumentUtils.serializeNodeToJson(dispatcher, dispatcher.getRoot())));
 	}
 
-	@Override
-	public final HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public final Component getAdventureChatComponent(CommandContext<CommandSourceStack> cmdCtx, String key) {
-		return GsonComponentSerializer.gson().deserialize(Serializer.toJson(ComponentArgument.getComponent(cmdCtx, key)));
+		return toAdventureComponent(ComponentArgument.getComponent(cmdCtx, key));
 	}
 
 	@Override
@@ -355,17 +369,19 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 		// trying to allow entity selectors to be used by anyone that registers a
 		// command via the CommandAPI.
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			CommandAPIHandler.getField(EntitySelector.class, "p", "usesSelector").set(argument, false);
-		} catch (IllegalArgumentException | IllegalAccessException e1) {
-			e1.printStackTrace();
-		}
+		entitySelectorUsesSelector.set(argument, false);
 
+		CommandSourceStack source = cmdCtx.getSource();
+		return getEntitySelectorCache().getOrFind(cmdCtx, str, subType, source.getLevel(), source.getPosition(), source.getEntity(),
+			() -> findEntities(argument, source, subType));
+	}
+
+	private static Object findEntities(EntitySelector argument, CommandSourceStack source, ArgumentSubType subType) throws CommandSyntaxException {
 		return switch (subType) {
 			case ENTITYSELECTOR_MANY_ENTITIES:
 				try {
 					List<org.bukkit.entity.Entity> result = new ArrayList<>();
-					for (Entity entity : argument.findEntities(cmdCtx.getSource())) {
+					for (Entity entity : argument.findEntities(source)) {
 						result.add(entity.getBukkitEntity());
 					}
 					yield result;
@@ -375,7 +391,7 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 			case ENTITYSELECTOR_MANY_PLAYERS:
 				try {
 					List<Player> result = new ArrayList<>();
-					for (ServerPlayer player : argument.findPlayers(cmdCtx.getSource())) {
+					for (ServerPlayer player : argument.findPlayers(source)) {
 						result.add(player.getBukkitEntity());
 					}
 					yield result;
@@ -383,9 +399,9 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 					yield new ArrayList<Player>();
 				}
 			case ENTITYSELECTOR_ONE_ENTITY:
-				yield argument.findSingleEntity(cmdCtx.getSource()).getBukkitEntity();
+				yield argument.findSingleEntity(source).getBukkitEntity();
 			case ENTITYSELECTOR_ONE_PLAYER:
-				yield argument.findSinglePlayer(cmdCtx.getSource()).getBukkitEntity();
+				yield argument.findSinglePlayer(source).getBukkitEntity();
 			default:
 				throw new IllegalArgumentException("Unexpected value: " + subType);
 		};
@@ -401,10 +417,12 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 	public final FunctionWrapper[] getFunction(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		List<FunctionWrapper> result = new ArrayList<>();
 		CommandSourceStack css = cmdCtx.getSource().withSuppressedOutput().withMaximumPermission(2);
+		// Shared by every function, so runAllAs only creates one source per entity. Functions
+		// run as an entity use the command's own source, as runAs always has
+		Function<org.bukkit.entity.Entity, Object> mapper = entity -> cmdCtx.getSource().withEntity(((CraftEntity) entity).getHandle());
 
 		for (CommandFunction commandFunction : FunctionArgument.getFunctions(cmdCtx, key)) {
-			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(commandFunction), css,
-				entity -> cmdCtx.getSource().withEntity(((CraftEntity) entity).getHandle())));
+			result.add(FunctionWrapper.fromSimpleFunctionWrapper(convertFunction(commandFunction), css, mapper));
 		}
 		return result.toArray(new FunctionWrapper[0]);
 	}
@@ -413,21 +431,14 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 	public final org.bukkit.inventory.ItemStack getItemStack(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		ItemInput input = ItemArgument.getItem(cmdCtx, key);
 
-		// Create the basic ItemStack with an amount of 1
-		net.minecraft.world.item.ItemStack itemWithMaybeTag = input.createItemStack(1, false);
-
-		// Try and find the amount from the CompoundTag (if present)
+		// Find the amount from the CompoundTag (if present), so the ItemStack
+		// only has to be created once
 		final CompoundTag tag = itemInput.get(input);
-		if(tag != null) {
-			// The tag has some extra metadata we need! Get the Count (amount)
-			// and create the ItemStack with the correct metadata
-			int count = (int) tag.getByte("Count");
-			itemWithMaybeTag = input.createItemStack(count == 0 ? 1 : count, false);
-		}
+		int count = tag == null ? 0 : (int) tag.getByte("Count");
+		net.minecraft.world.item.ItemStack item = input.createItemStack(count == 0 ? 1 : count, false);
 
-		org.bukkit.inventory.ItemStack result = CraftItemStack.asBukkitCopy(itemWithMaybeTag);
-		result.setItemMeta(CraftItemStack.getItemMeta(itemWithMaybeTag));
-		return result;
+		// asBukkitCopy already copies the ItemStack's metadata
+		return CraftItemStack.asBukkitCopy(item);
 	}
 
 	@Override
@@ -550,15 +561,16 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 		CommandSourceStack css = cmdCtx.getSource();
 
 		CommandSender sender = css.getBukkitSender();
-		Vec3 pos = css.getPosition();
-		Vec2 rot = css.getRotation();
-		World world = getWorldForCSS(css);
-		Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.y, rot.x);
-
 		Entity proxyEntity = css.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
+
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// Most commands never use the location, so it is only created if it's needed
+			return new BukkitNativeProxyCommandSender(NativeProxyCommandSender.lazy(sender, proxy, () -> {
+				Vec3 pos = css.getPosition();
+				Vec2 rot = css.getRotation();
+				return new Location(getWorldForCSS(css), pos.x(), pos.y(), pos.z(), rot.y, rot.x);
+			}, () -> getWorldForCSS(css)));
 		} else {
 			return wrapCommandSender(sender);
 		}
@@ -615,7 +627,12 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 	@Override
 	public final SimpleFunctionWrapper[] getTag(NamespacedKey key) {
 		Collection<CommandFunction> customFunctions = this.<MinecraftServer>getMinecraftServer().getFunctions().getTag(new ResourceLocation(key.getNamespace(), key.getKey()));
-		return customFunctions.toArray(new SimpleFunctionWrapper[0]);
+		SimpleFunctionWrapper[] result = new SimpleFunctionWrapper[customFunctions.size()];
+		int i = 0;
+		for (CommandFunction customFunction : customFunctions) {
+			result[i++] = convertFunction(customFunction);
+		}
+		return result;
 	}
 	
 	@Override
@@ -631,6 +648,8 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 	@Override
 	public final void reloadDataPacks() {
 		CommandAPI.logNormal("Reloading datapacks...");
+		long startTime = System.nanoTime();
+		getCommandsPacketCache().invalidate();
 
 		// Get previously declared recipes to be re-registered later
 		Iterator<Recipe> recipes = Bukkit.recipeIterator();
@@ -640,12 +659,7 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 		serverResources.managers().commands = this.<MinecraftServer>getMinecraftServer().getCommands();
 
 		// Update the ServerFunctionLibrary's command dispatcher with the new one
-		try {
-			CommandAPIHandler.getField(ServerFunctionLibrary.class, "g", "dispatcher")
-				.set(serverResources.managers().getFunctionLibrary(), getBrigadierDispatcher());
-		} catch (ReflectiveOperationException e) {
-			e.printStackTrace();
-		}
+		serverFunctionLibraryDispatcher.set(serverResources.managers().getFunctionLibrary(), getBrigadierDispatcher());
 
 		// From this.<MinecraftServer>getMinecraftServer().reloadResources //
 		// Discover new packs
@@ -698,30 +712,24 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 		});
 
 		// Step 3: Actually load all of the resources
-		CompletableFuture<Void> third = second.thenAcceptAsync(resources -> {
-			this.<MinecraftServer>getMinecraftServer().resources.close();
-			this.<MinecraftServer>getMinecraftServer().resources = serverResources;
-			this.<MinecraftServer>getMinecraftServer().server.syncCommands();
-			this.<MinecraftServer>getMinecraftServer().getPackRepository().setSelected(collection);
-
-			// this.<MinecraftServer>getMinecraftServer().getSelectedPacks
-			Collection<String> selectedIDs = this.<MinecraftServer>getMinecraftServer().getPackRepository().getSelectedIds();
-			List<String> enabledIDs = ImmutableList.copyOf(selectedIDs);
-			List<String> disabledIDs = new ArrayList<>(this.<MinecraftServer>getMinecraftServer().getPackRepository().getAvailableIds());
-
-			disabledIDs.removeIf(enabledIDs::contains);
-
-			this.<MinecraftServer>getMinecraftServer().getWorldData().setDataConfiguration(new WorldDataConfiguration(new DataPackConfig(enabledIDs, disabledIDs), this.<MinecraftServer>getMinecraftServer().getWorldData().getDataConfiguration().enabledFeatures()));
-			this.<MinecraftServer>getMinecraftServer().resources.managers().updateRegistryTags(registryAccess);
-			// May need to be commented out, may not. Comment it out just in case.
-			// For some reason, calling getPlayerList().saveAll() may just hang
-			// the server indefinitely. Not sure why!
-			// this.<MinecraftServer>getMinecraftServer().getPlayerList().saveAll();
-			// this.<MinecraftServer>getMinecraftServer().getPlayerList().reloadResources();
-			// this.<MinecraftServer>getMinecraftServer().getFunctions().replaceLibrary(this.<MinecraftServer>getMinecraftServer().resources.managers().getFunctionLibrary());
-			this.<MinecraftServer>getMinecraftServer().getStructureManager()
-				.onResourceManagerReload(this.<MinecraftServer>getMinecraftServer().resources.resourceManager());
-		});
+		if (CommandAPIBukkit.getConfiguration().shouldReloadDatapacksAsync()) {
+			// Don't block the main thread until the resources have loaded. This isn't
+			// atomic: the live managers above apply their changes in separate tasks on
+			// the main thread, so commands can see a partly applied reload until then.
+			// The live managers are reused so that functions are compiled against the
+			// CommandAPI's dispatcher
+			startReloadingDataPacksAsync();
+			second.thenAcceptAsync(resources -> {
+				applyReloadedResources(serverResources, collection, registryAccess);
+				finishReloadingDataPacks(recipes, startTime, true);
+			}, this.<MinecraftServer>getMinecraftServer()).exceptionallyAsync(throwable -> {
+				failReloadingDataPacks(throwable);
+				return null;
+			}, this.<MinecraftServer>getMinecraftServer());
+			return;
+		}
+
+		CompletableFuture<Void> third = second.thenAcceptAsync(resources -> applyReloadedResources(serverResources, collection, registryAccess));
 
 		// Step 4: Block the thread until everything's done
 		if (this.<MinecraftServer>getMinecraftServer().isSameThread()) {
@@ -733,23 +741,135 @@ public class NMS_1_19_4_R3 extends NMS_Common {
 
 			// Register recipes again because reloading datapacks
 			// removes all non-vanilla recipes
-			registerBukkitRecipesSafely(recipes);
-
-			CommandAPI.logNormal("Finished reloading datapacks");
+			finishReloadingDataPacks(recipes, startTime, false);
 		} catch (Exception e) {
-			StringWriter stringWriter = new StringWriter();
-			PrintWriter printWriter = new PrintWriter(stringWriter);
-			e.printStackTrace(printWriter);
-
-			CommandAPI.logError(
-				"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
-					+ stringWriter.toString());
+			failReloadingDataPacks(e);
 		}
 	}
 
+	private void applyReloadedResources(ReloadableResources serverResources, Collection<String> collection, Frozen registryAccess) {
+		this.<MinecraftServer>getMinecraftServer().resources.close();
+		this.<MinecraftServer>getMinecraftServer().resources = serverResources;
+		this.<MinecraftServer>getMinecraftServer().server.syncCommands();
+		this.<MinecraftServer>getMinecraftServer().getPackRepository().setSelected(collection);
+
+		// this.<MinecraftServer>getMinecraftServer().getSelectedPacks
+		Collection<String> selectedIDs = this.<MinecraftServer>getMinecraftServer().getPackRepository().getSelectedIds();
+		List<String> enabledIDs = ImmutableList.copyOf(selectedIDs);
+		List<String> disabledIDs = new ArrayList<>(this.<MinecraftServer>getMinecraftServer().getPackRepository().getAvailableIds());
+
+		disabledIDs.removeIf(enabledIDs::contains);
+
+		this.<MinecraftServer>getMinecraftServer().getWorldData().setDataConfiguration(new WorldDataConfiguration(new DataPackConfig(enabledIDs, disabledIDs), this.<MinecraftServer>getMinecraftServer().getWorldData().getDataConfiguration().enabledFeatures()));
+		this.<MinecraftServer>getMinecraftServer().resources.managers().updateRegistryTags(registryAccess);
+		// May need to be commented out, may not. Comment it out just in case.
+		// For some reason, calling getPlayerList().saveAll() may just hang
+		// the server indefinitely. Not sure why!
+		// this.<MinecraftServer>getMinecraftServer().getPlayerList().saveAll();
+		// this.<MinecraftServer>getMinecraftServer().getPlayerList().reloadResources();
+		// this.<MinecraftServer>getMinecraftServer().getFunctions().replaceLibrary(this.<MinecraftServer>getMinecraftServer().resources.managers().getFunctionLibrary());
+		this.<MinecraftServer>getMinecraftServer().getStructureManager()
+			.onResourceManagerReload(this.<MinecraftServer>getMinecraftServer().resources.resourceManager());
+	}
+
 	@Override
 	public final void resendPackets(Player player) {
-		this.<MinecraftServer>getMinecraftServer().getCommands().sendCommands(((CraftPlayer) player).getHandle());
+		MinecraftServer server = this.<MinecraftServer>getMinecraftServer();
+		ServerPlayer serverPlayer = ((CraftPlayer) player).getHandle();
+		CommandsPacketCache<UsableCommands> cache = getCommandsPacketCache();
+		if (org.spigotmc.SpigotConfig.tabComplete < 0 || !cache.isEnabled()) {
+			server.getCommands().sendCommands(serverPlayer);
+			return;
+		}
+
+		// From Commands#sendCommands, but the packet is shared between players with the same permissions
+		CommandSourceStack source = serverPlayer.createCommandSourceStack();
+		UsableCommands usableCommands = cache.getOrCreate(player, server.getProfilePermissions(serverPlayer.getGameProfile()),
+			() -> new UsableCommands(getUsableCommands(server, source)));
+
+		PlayerCommandSendEvent event = new PlayerCommandSendEvent(player, new LinkedHashSet<>(usableCommands.names()));
+		Bukkit.getPluginManager().callEvent(event);
+
+		if (event.getCommands().containsAll(usableCommands.names())) {
+			serverPlayer.connection.send(usableCommands.packet());
+		} else {
+			// Labels were removed for this player only, so build a tree just for them
+			RootCommandNode<SharedSuggestionProvider> root = getUsableCommands(server, source);
+			for (String name : usableCommands.names()) {
+				if (!event.getCommands().contains(name)) {
+					root.removeCommand(name);
+				}
+			}
+			serverPlayer.connection.send(new ClientboundCommandsPacket(root));
+		}
+	}
+
+	/**
+	 * The commands packet for a set of permissions, along with the labels of the
+	 * commands it contains
+	 */
+	private record UsableCommands(ClientboundCommandsPacket packet, Set<String> names) {
+		UsableCommands(RootCommandNode<SharedSuggestionProvider> root) {
+			this(new ClientboundCommandsPacket(root), getNames(root));
+		}
+
+		private static Set<String> getNames(RootCommandNode<SharedSuggestionProvider> root) {
+			Set<String> names = new LinkedHashSet<>();
+			for (CommandNode<SharedSuggestionProvider> node : root.getChildren()) {
+				names.add(node.getName());
+			}
+			return names;
+		}
+	}
+
+	/**
+	 * Builds the tree of commands that a source can use, in the same way as
+	 * CraftBukkit's Commands#sendCommands
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private RootCommandNode<SharedSuggestionProvider> getUsableCommands(MinecraftServer server, CommandSourceStack source) {
+		Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> map = new IdentityHashMap<>();
+
+		// Vanilla commands are added first so that redirects to them can be resolved
+		RootCommandNode<CommandSourceStack> vanilla = server.vanillaCommandDispatcher.getDispatcher().getRoot();
+		map.put(vanilla, new RootCommandNode<>());
+		fillUsableCommands(vanilla, map.get(vanilla), source, map);
+
+		RootCommandNode<SharedSuggestionProvider> root = new RootCommandNode<>();
+		map.put(server.getCommands().getDispatcher().getRoot(), root);
+		fillUsableCommands(server.getCommands().getDispatcher().getRoot(), root, source, map);
+		return root;
+	}
+
+	// From Commands#fillUsableCommands
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void fillUsableCommands(CommandNode<CommandSourceStack> node, CommandNode<SharedSuggestionProvider> result,
+			CommandSourceStack source, Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> map) {
+		for (CommandNode<CommandSourceStack> child : node.getChildren()) {
+			if (!org.spigotmc.SpigotConfig.sendNamespaced && child.getName().contains(":")) {
+				continue;
+			}
+			if (child.canUse(source)) {
+				ArgumentBuilder builder = child.createBuilder();
+				builder.requires(s -> true);
+				if (builder.getCommand() != null) {
+					builder.executes(context -> 0);
+				}
+				if (builder instanceof RequiredArgumentBuilder requiredBuilder && requiredBuilder.getSuggestionsProvider() != null) {
+					requiredBuilder.suggests(net.minecraft.commands.synchronization.SuggestionProviders.safelySwap(requiredBuilder.getSuggestionsProvider()));
+				}
+				if (builder.getRedirect() != null) {
+					builder.redirect(map.get(builder.getRedirect()));
+				}
+
+				CommandNode<SharedSuggestionProvider> newChild = builder.build();
+				map.put(child, newChild);
+				result.addChild(newChild);
+				if (!child.getChildren().isEmpty()) {
+					fillUsableCommands(child, newChild, source, map);
+				}
+			}
+		}
 	}
 
 	@Override
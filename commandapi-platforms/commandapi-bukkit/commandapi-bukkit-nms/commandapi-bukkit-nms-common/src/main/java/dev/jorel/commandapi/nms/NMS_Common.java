@@ -27,6 +27,10 @@ import static dev.jorel.commandapi.preprocessor.Unimplemented.REASON.VERSION_SPE
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -64,11 +68,13 @@ import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Team;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.Message;
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
@@ -140,6 +146,30 @@ import net.minecraft.world.phys.Vec2;
  */
 public abstract class NMS_Common extends CommandAPIBukkit<CommandSourceStack> {
 
+	// Paper's conversions between Minecraft and Adventure components, which don't
+	// go through JSON. These are null if the server isn't running Paper, or once
+	// a conversion has failed
+	private static volatile MethodHandle paperAsAdventure;
+	private static volatile MethodHandle paperAsVanilla;
+
+	static {
+		MethodHandle asAdventure = null;
+		MethodHandle asVanilla = null;
+		try {
+			Class<?> paperAdventure = Class.forName("io.papermc.paper.adventure.PaperAdventure");
+			asAdventure = MethodHandles.publicLookup().findStatic(paperAdventure, "asAdventure",
+				MethodType.methodType(Component.class, net.minecraft.network.chat.Component.class));
+			asVanilla = MethodHandles.publicLookup().findStatic(paperAdventure, "asVanilla",
+				MethodType.methodType(net.minecraft.network.chat.Component.class, Component.class));
+		} catch (ReflectiveOperationException e) {
+			// Not running Paper, or a version of Paper without these conversions
+			asAdventure = null;
+			asVanilla = null;
+		}
+		paperAsAdventure = asAdventure;
+		paperAsVanilla = asVanilla;
+	}
+
 	private static NamespacedKey fromResourceLocation(ResourceLocation key) {
 		return NamespacedKey.fromString(key.getNamespace() + ":" + key.getPath());
 	}
@@ -343,28 +373,30 @@ public abstract class NMS_Common extends CommandAPIBukkit<CommandSourceStack> {
 		return sound.getKey().toString();
 	}
 
-	// Converts NMS function to SimpleFunctionWrapper
+	// Converts NMS function to SimpleFunctionWrapper, reusing the wrapper created for it earlier
 	private SimpleFunctionWrapper convertFunction(CommandFunction commandFunction) {
+		return getFunctionWrapperCache().getOrConvert(commandFunction.getId(), commandFunction, this::createFunctionWrapper);
+	}
+
+	private SimpleFunctionWrapper createFunctionWrapper(CommandFunction commandFunction) {
 		ToIntFunction<CommandSourceStack> appliedObj = (CommandSourceStack css) -> this.<MinecraftServer>getMinecraftServer().getFunctions()
 			.execute(commandFunction, css);
 
-		CommandFunction.Entry[] cArr = commandFunction.getEntries();
-		String[] result = new String[cArr.length];
-		for (int i = 0, size = cArr.length; i < size; i++) {
-			result[i] = cArr[i].toString();
-		}
-		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, result);
+		// Functions can have thousands of entries, so they are only converted to strings when needed
+		return new SimpleFunctionWrapper(fromResourceLocation(commandFunction.getId()), appliedObj, () -> {
+			CommandFunction.Entry[] cArr = commandFunction.getEntries();
+			String[] result = new String[cArr.length];
+			for (int i = 0, size = cArr.length; i < size; i++) {
+				result[i] = cArr[i].toString();
+			}
+			return result;
+		});
 	}
 
 	@Override
 	@Unimplemented(because = VERSION_SPECIFIC_IMPLEMENTATION, introducedIn = "1.19")
 	public abstract void createDispatcherFile(File file, CommandDispatcher<CommandSourceStack> dispatcher) throws IOException;
 
-	@Override
-	@Unimplemented(because = REQUIRES_CRAFTBUKKIT, classNamed = "CustomHelpTopic")
-	public abstract HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription,
-		String permission);
-
 	@Override
 	public final org.bukkit.advancement.Advancement getAdvancement(CommandContext<CommandSourceStack> cmdCtx, String key)
 		throws CommandSyntaxException {
@@ -373,7 +405,57 @@ public abstract class NMS_Common extends CommandAPIBukkit<CommandSourceStack> {
 
 	@Override
 	public final Component getAdventureChat(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
-		return GsonComponentSerializer.gson().deserialize(Serializer.toJson(MessageArgument.getMessage(cmdCtx, key)));
+		return toAdventureComponent(MessageArgument.getMessage(cmdCtx, key));
+	}
+
+	/**
+	 * Converts a Minecraft component into an Adventure component. On Paper, this
+	 * uses Paper's own conversion instead of going through JSON.
+	 *
+	 * @param component the Minecraft component to convert
+	 * @return an Adventure component with the same content
+	 */
+	protected static final Component toAdventureComponent(net.minecraft.network.chat.Component component) {
+		MethodHandle asAdventure = paperAsAdventure;
+		if (asAdventure != null) {
+			try {
+				return (Component) asAdventure.invokeExact(component);
+			} catch (WrongMethodTypeException | ClassCastException e) {
+				// Fall back to converting through JSON from now on
+				paperAsAdventure = null;
+				logPaperConversionFailure("asAdventure", e);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return GsonComponentSerializer.gson().deserialize(Serializer.toJson(component));
+	}
+
+	@Override
+	public final Message generateMessageFromAdventureComponent(Component component) {
+		MethodHandle asVanilla = paperAsVanilla;
+		if (asVanilla != null) {
+			try {
+				return (net.minecraft.network.chat.Component) asVanilla.invokeExact(component);
+			} catch (WrongMethodTypeException | ClassCastException e) {
+				// Fall back to converting through JSON from now on
+				paperAsVanilla = null;
+				logPaperConversionFailure("asVanilla", e);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return super.generateMessageFromAdventureComponent(component);
+	}
+
+	private static void logPaperConversionFailure(String method, RuntimeException exception) {
+		if (CommandAPI.getConfiguration().hasVerboseOutput()) {
+			CommandAPI.logInfo("Paper's PaperAdventure." + method + " could not be used, converting components through JSON instead: " + exception);
+		}
 	}
 
 	@Override
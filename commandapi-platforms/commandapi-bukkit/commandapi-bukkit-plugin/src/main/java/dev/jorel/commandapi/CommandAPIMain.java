@@ -54,7 +54,12 @@ public class CommandAPIMain extends JavaPlugin {
 			.missingExecutorImplementationMessage(fileConfig.getString("messages.missing-executor-implementation"))
 			.dispatcherFile(fileConfig.getBoolean("create-dispatcher-json") ? new File(getDataFolder(), "command_registration.json") : null)
 			.initializeNBTAPI(NBTContainer.class, NBTContainer::new)
-			.shouldHookPaperReload(fileConfig.getBoolean("hook-paper-reload"));
+			.shouldHookPaperReload(fileConfig.getBoolean("hook-paper-reload"))
+			.cacheCommandsPacket(fileConfig.getBoolean("cache-commands-packet"))
+			.maxCommandTreeResendsPerTick(fileConfig.getInt("max-command-tree-resends-per-tick"))
+			.reloadDatapacksAsync(fileConfig.getBoolean("async-datapack-reload"))
+			.cacheEntitySelectorsPerTick(fileConfig.getBoolean("cache-entity-selectors-per-tick"))
+			.itemStackCacheSize(fileConfig.getInt("item-stack-cache-size"));
 
 		for (String pluginName : fileConfig.getStringList("skip-sender-proxy")) {
 			if (Bukkit.getPluginManager().getPlugin(pluginName) != null) {
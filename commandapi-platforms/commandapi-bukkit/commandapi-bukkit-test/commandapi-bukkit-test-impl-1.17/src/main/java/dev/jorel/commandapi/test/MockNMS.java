@@ -33,7 +33,6 @@ import org.bukkit.craftbukkit.v1_17_R1.inventory.CraftItemFactory;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.help.HelpTopic;
 import org.bukkit.inventory.ItemFactory;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scoreboard.Team;
@@ -500,6 +499,9 @@ public class MockNMS extends Enums {
 		// So for very interesting reasons, Brigadier.getCommandDispatcher()
 		// gives a different result in this method than using getBrigadierDispatcher()
 		this.functions.put(resourceLocation, CommandFunction.fromLines(resourceLocation, Brigadier.getCommandDispatcher(), css, commands));
+
+		// Adding a function is like reloading datapacks, so forget the functions seen so far
+		baseNMS.getFunctionWrapperCache().invalidate();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -545,10 +547,5 @@ public class MockNMS extends Enums {
 			return null;
 		}
 	}
-	
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return baseNMS.generateHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
 
 }
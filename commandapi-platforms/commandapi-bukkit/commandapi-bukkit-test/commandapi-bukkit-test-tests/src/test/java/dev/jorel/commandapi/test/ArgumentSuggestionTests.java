@@ -1,6 +1,7 @@
 package dev.jorel.commandapi.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.List;
 
@@ -9,11 +10,16 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mojang.brigadier.suggestion.Suggestion;
+
+import dev.jorel.commandapi.BukkitStringTooltip;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.IStringTooltip;
 import dev.jorel.commandapi.StringTooltip;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
 import dev.jorel.commandapi.arguments.MathOperationArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
+import net.kyori.adventure.text.Component;
 
 public class ArgumentSuggestionTests extends TestBase {
 
@@ -137,4 +143,26 @@ public class ArgumentSuggestionTests extends TestBase {
 			server.getSuggestionsWithTooltips(player, "test ")
 		);
 	}
+	
+	@Test
+	void testReplaceSuggestionsAdventureTooltipsAreReused() {
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("arg")
+				.replaceSuggestions(ArgumentSuggestions.stringsWithTooltips(info -> new IStringTooltip[] {
+					BukkitStringTooltip.ofAdventureComponent("cat", Component.text("a cat"))
+				})))
+			.executes((sender, args) -> {
+			})
+			.register();
+		
+		Player player = server.addPlayer("APlayer");
+		
+		// /test
+		List<Suggestion> suggestions = server.getSuggestionsWithTooltips(player, "test ");
+		assertSuggestionListEquals(List.of(mkSuggestion("cat", "a cat")), suggestions);
+		
+		// /test
+		// The tooltip is created again, but the same component is only converted once
+		assertSame(suggestions.get(0).getTooltip(), server.getSuggestionsWithTooltips(player, "test ").get(0).getTooltip());
+	}
 }
@@ -1,6 +1,11 @@
 package dev.jorel.commandapi.test;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
@@ -10,8 +15,16 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.arguments.GreedyStringArgument;
+import dev.jorel.commandapi.arguments.IntegerArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
 import dev.jorel.commandapi.exceptions.GreedyArgumentException;
 import dev.jorel.commandapi.exceptions.InvalidCommandNameException;
@@ -105,4 +118,162 @@ class CommandTests extends TestBase {
 		});
 	}
 
+	@Test
+	void testUnregisterRemovesRegisteredCommands() {
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("arg1"))
+			.executes((sender, args) -> {})
+			.register();
+
+		new CommandAPICommand("other")
+			.executes((sender, args) -> {})
+			.register();
+
+		assertEquals(2, CommandAPI.getRegisteredCommands().size());
+
+		CommandAPI.unregister("test");
+
+		// Only /other should be left, and /test should be able to be registered again
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+		assertEquals("other", CommandAPI.getRegisteredCommands().get(0).commandName());
+		assertDoesNotThrow(() -> {
+			new CommandAPICommand("test")
+				.withArguments(new IntegerArgument("arg1"))
+				.executes((sender, args) -> {})
+				.register();
+		});
+		assertEquals(2, CommandAPI.getRegisteredCommands().size());
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void testForceUnregisterRemovesNamespacedCommands() {
+		CommandDispatcher dispatcher = CommandAPIBukkit.get().getBrigadierDispatcher();
+
+		dispatcher.register(LiteralArgumentBuilder.literal("plugin:MyCmd"));
+		dispatcher.register(LiteralArgumentBuilder.literal("other:mycmd"));
+		dispatcher.register(LiteralArgumentBuilder.literal("other:mycmd2"));
+
+		CommandAPI.unregister("mycmd", true);
+		assertNull(dispatcher.getRoot().getChild("plugin:MyCmd"));
+		assertNull(dispatcher.getRoot().getChild("other:mycmd"));
+		assertNotNull(dispatcher.getRoot().getChild("other:mycmd2"));
+
+		// Swapping one namespaced command for another doesn't hide the new one
+		dispatcher.register(LiteralArgumentBuilder.literal("newns:mycmd"));
+		CommandAPI.unregister("mycmd", true);
+		assertNull(dispatcher.getRoot().getChild("newns:mycmd"));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void testForceUnregisterUsesUpToDateNamespaceIndex() {
+		CommandDispatcher dispatcher = CommandAPIBukkit.get().getBrigadierDispatcher();
+
+		dispatcher.register(LiteralArgumentBuilder.literal("plugin:first"));
+		dispatcher.register(LiteralArgumentBuilder.literal("plugin:second"));
+		dispatcher.register(LiteralArgumentBuilder.literal("other:Second"));
+
+		// The first forced unregister indexes the namespaced commands, which are then
+		// found by the next one
+		CommandAPI.unregister("first", true);
+		assertNull(dispatcher.getRoot().getChild("plugin:first"));
+		CommandAPI.unregister("second", true);
+		assertNull(dispatcher.getRoot().getChild("plugin:second"));
+		assertNull(dispatcher.getRoot().getChild("other:Second"));
+
+		// Commands added after the index was built are still found
+		dispatcher.register(LiteralArgumentBuilder.literal("plugin:third"));
+		dispatcher.register(LiteralArgumentBuilder.literal("plugin:fourth"));
+		CommandAPI.unregister("third", true);
+		dispatcher.register(LiteralArgumentBuilder.literal("late:fourth"));
+		CommandAPI.unregister("fourth", true);
+		assertNull(dispatcher.getRoot().getChild("plugin:fourth"));
+		assertNull(dispatcher.getRoot().getChild("late:fourth"));
+	}
+
+	@Test
+	void testReloadReplacesCommand() {
+		Mut<String> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.executesPlayer((player, args) -> {
+				results.set("old");
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer("APlayer");
+
+		server.dispatchCommand(player, "test");
+		assertEquals("old", results.get());
+
+		CommandAPI.reload("test", new CommandAPICommand("test")
+			.withAliases("othertest")
+			.executesPlayer((p, args) -> {
+				results.set("new");
+			}));
+
+		server.dispatchCommand(player, "test");
+		assertEquals("new", results.get());
+		server.dispatchCommand(player, "othertest");
+		assertEquals("new", results.get());
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void testReloadKeepsCommandWhenNewDefinitionIsInvalid() {
+		Mut<String> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.executesPlayer((player, args) -> {
+				results.set("old");
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer("APlayer");
+
+		// The greedy argument isn't the last argument
+		assertThrows(GreedyArgumentException.class, () -> CommandAPI.reload("test", new CommandAPICommand("test")
+			.withArguments(new GreedyStringArgument("arg1"), new StringArgument("arg2"))
+			.executesPlayer((p, args) -> {
+				results.set("new");
+			})));
+
+		server.dispatchCommand(player, "test");
+		assertEquals("old", results.get());
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+
+		// A definition with a different name doesn't replace the command
+		assertThrows(IllegalArgumentException.class, () -> CommandAPI.reload("test", new CommandAPICommand("othertest")
+			.executesPlayer((p, args) -> {
+				results.set("new");
+			})));
+
+		server.dispatchCommand(player, "test");
+		assertEquals("old", results.get());
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void testWithRequirementOnDefaultRequirements() {
+		CommandAPICommand command = new CommandAPICommand("test");
+		assertFalse(CommandAPIHandler.hasRequirements(command.getRequirements()));
+
+		command.withRequirement(sender -> sender.isOp());
+		assertTrue(CommandAPIHandler.hasRequirements(command.getRequirements()));
+
+		// Requirements are still ANDed together
+		command.withRequirement(sender -> sender.getName().equals("APlayer"));
+		PlayerMock player = server.addPlayer("APlayer");
+		assertFalse(command.getRequirements().test(player));
+		player.setOp(true);
+		assertTrue(command.getRequirements().test(player));
+
+		command.executes((sender, args) -> {}).register();
+	}
+
 }
@@ -0,0 +1,113 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandsPacketCache;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tests for the {@link CommandsPacketCache}
+ */
+class CommandsPacketCacheTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		Main.configModifier = config -> config.cacheCommandsPacket(true);
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testPacketsAreSharedUntilInvalidated() {
+		CommandsPacketCache<String> cache = CommandAPIBukkit.get().getCommandsPacketCache();
+		PlayerMock player = server.addPlayer("APlayer");
+
+		AtomicInteger created = new AtomicInteger();
+		assertTrue(cache.isEnabled());
+		assertEquals("packet 1", cache.getOrCreate(player, 0, () -> "packet " + created.incrementAndGet()));
+		assertEquals("packet 1", cache.getOrCreate(player, 0, () -> "packet " + created.incrementAndGet()));
+		assertEquals(1, created.get());
+
+		// Players with another permission level get a different packet
+		assertEquals("packet 2", cache.getOrCreate(player, 4, () -> "packet " + created.incrementAndGet()));
+
+		cache.invalidate();
+		assertEquals("packet 3", cache.getOrCreate(player, 0, () -> "packet " + created.incrementAndGet()));
+		assertEquals(3, created.get());
+	}
+
+	@Test
+	void testRequirementsDisableCacheUntilUnregistered() {
+		CommandsPacketCache<String> cache = CommandAPIBukkit.get().getCommandsPacketCache();
+
+		new CommandAPICommand("test")
+			.withRequirement(sender -> sender.isOp())
+			.executes((sender, args) -> {})
+			.register();
+		assertFalse(cache.isEnabled());
+
+		CommandAPI.unregister("test");
+		assertTrue(cache.isEnabled());
+
+		// Requirements on arguments also disable the cache
+		new CommandAPICommand("argument")
+			.withArguments(new StringArgument("string").withRequirement(sender -> sender.isOp()))
+			.executes((sender, args) -> {})
+			.register();
+		assertFalse(cache.isEnabled());
+
+		CommandAPI.unregister("argument");
+		assertTrue(cache.isEnabled());
+	}
+
+	@Test
+	void testUnregisteredPermissionsAreNotTracked() {
+		CommandsPacketCache<String> cache = CommandAPIBukkit.get().getCommandsPacketCache();
+
+		new CommandAPICommand("test")
+			.withPermission("commandapi.test")
+			.executes((sender, args) -> {})
+			.register();
+
+		PlayerMock allowed = server.addPlayer("APlayer");
+		allowed.addAttachment(plugin, "commandapi.test", true);
+		PlayerMock denied = server.addPlayer("BPlayer");
+
+		// Players with different permissions can see different commands
+		AtomicInteger created = new AtomicInteger();
+		cache.getOrCreate(allowed, 0, () -> "packet " + created.incrementAndGet());
+		cache.getOrCreate(denied, 0, () -> "packet " + created.incrementAndGet());
+		assertEquals(2, created.get());
+
+		// Once no command checks the permission, the players see the same commands
+		CommandAPI.unregister("test");
+		assertEquals(cache.getOrCreate(allowed, 0, () -> "packet " + created.incrementAndGet()),
+			cache.getOrCreate(denied, 0, () -> "packet " + created.incrementAndGet()));
+		assertEquals(3, created.get());
+	}
+
+}
@@ -0,0 +1,125 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.EntitySelectorCache;
+import dev.jorel.commandapi.EntitySelectorCache.EntityLookup;
+import dev.jorel.commandapi.arguments.ArgumentSubType;
+
+/**
+ * Tests for the {@link EntitySelectorCache}
+ */
+class EntitySelectorCacheTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		Main.configModifier = config -> config.cacheEntitySelectorsPerTick(true);
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	// The mock command sources are different every time a command is run, so
+	// the cache is used directly with a context containing the selector
+	private static CommandContext<Object> contextWithSelector(String selector) {
+		CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+		dispatcher.register(LiteralArgumentBuilder.literal("test")
+			.then(RequiredArgumentBuilder.argument("selector", StringArgumentType.greedyString())));
+		String input = "test " + selector;
+		return dispatcher.parse(input, new Object()).getContext().build(input);
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testSelectorResultsAreSharedUntilNextTick() throws CommandSyntaxException {
+		EntitySelectorCache cache = CommandAPIBukkit.get().getEntitySelectorCache();
+		CommandContext<Object> cmdCtx = contextWithSelector("@e[type=pig]");
+		Object world = new Object();
+
+		AtomicInteger lookups = new AtomicInteger();
+		EntityLookup lookup = () -> new ArrayList<>(List.of("lookup " + lookups.incrementAndGet()));
+
+		// The same selector from the same place finds the same entities
+		Object first = cache.getOrFind(cmdCtx, "selector", ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES, world, "0 0 0", null, lookup);
+		assertSame(first, cache.getOrFind(cmdCtx, "selector", ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES, world, "0 0 0", null, lookup));
+		assertEquals(1, lookups.get());
+
+		// Selecting from another place finds the entities again
+		cache.getOrFind(cmdCtx, "selector", ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES, world, "1 0 0", null, lookup);
+		assertEquals(2, lookups.get());
+
+		// Results are forgotten on the next tick
+		server.getScheduler().performOneTick();
+		Object afterTick = cache.getOrFind(cmdCtx, "selector", ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES, world, "0 0 0", null, lookup);
+		assertEquals(3, lookups.get());
+		assertEquals(List.of("lookup 1"), first);
+		assertNotEquals(first, afterTick);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testSelectorResultsAreUnmodifiable() throws CommandSyntaxException {
+		EntitySelectorCache cache = CommandAPIBukkit.get().getEntitySelectorCache();
+		CommandContext<Object> cmdCtx = contextWithSelector("@a");
+
+		List<Object> result = (List<Object>) cache.getOrFind(cmdCtx, "selector", ArgumentSubType.ENTITYSELECTOR_MANY_PLAYERS, new Object(), "0 0 0", null,
+			() -> new ArrayList<>(List.of("APlayer")));
+		assertThrows(UnsupportedOperationException.class, () -> result.add("BPlayer"));
+		assertThrows(UnsupportedOperationException.class, () -> result.remove(0));
+	}
+
+	@Test
+	void testRandomSelectorsAreNotShared() throws CommandSyntaxException {
+		EntitySelectorCache cache = CommandAPIBukkit.get().getEntitySelectorCache();
+		Object world = new Object();
+
+		AtomicInteger lookups = new AtomicInteger();
+		EntityLookup lookup = () -> "lookup " + lookups.incrementAndGet();
+
+		CommandContext<Object> random = contextWithSelector("@r");
+		cache.getOrFind(random, "selector", ArgumentSubType.ENTITYSELECTOR_ONE_PLAYER, world, "0 0 0", null, lookup);
+		cache.getOrFind(random, "selector", ArgumentSubType.ENTITYSELECTOR_ONE_PLAYER, world, "0 0 0", null, lookup);
+		assertEquals(2, lookups.get());
+
+		CommandContext<Object> sortedRandomly = contextWithSelector("@e[sort=random,limit=1]");
+		cache.getOrFind(sortedRandomly, "selector", ArgumentSubType.ENTITYSELECTOR_ONE_ENTITY, world, "0 0 0", null, lookup);
+		cache.getOrFind(sortedRandomly, "selector", ArgumentSubType.ENTITYSELECTOR_ONE_ENTITY, world, "0 0 0", null, lookup);
+		assertEquals(4, lookups.get());
+
+		// Selector options can have whitespace around the =
+		CommandContext<Object> spacedSortedRandomly = contextWithSelector("@e[sort = random,limit=1]");
+		cache.getOrFind(spacedSortedRandomly, "selector", ArgumentSubType.ENTITYSELECTOR_ONE_ENTITY, world, "0 0 0", null, lookup);
+		cache.getOrFind(spacedSortedRandomly, "selector", ArgumentSubType.ENTITYSELECTOR_ONE_ENTITY, world, "0 0 0", null, lookup);
+		assertEquals(6, lookups.get());
+	}
+
+}
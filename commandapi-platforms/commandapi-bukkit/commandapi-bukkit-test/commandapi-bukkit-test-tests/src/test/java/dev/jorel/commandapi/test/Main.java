@@ -1,5 +1,6 @@
 package dev.jorel.commandapi.test;
 import java.io.File;
+import java.util.function.UnaryOperator;
 
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -11,17 +12,20 @@ import dev.jorel.commandapi.CommandAPIBukkitConfig;
 import dev.jorel.commandapi.CommandAPILogger;
 
 public class Main extends JavaPlugin {
+
+	// Lets tests turn on optional features before the CommandAPI is loaded
+	static UnaryOperator<CommandAPIBukkitConfig> configModifier = UnaryOperator.identity();
 	
 	@Override
 	public void onLoad() {
 		getDataFolder().mkdirs();
 		CommandAPI.setLogger(CommandAPILogger.fromJavaLogger(getLogger()));
-		CommandAPI.onLoad(new CommandAPIBukkitConfig(this)
+		CommandAPI.onLoad(configModifier.apply(new CommandAPIBukkitConfig(this)
 			.useLatestNMSVersion(true) // Doesn't matter because we implement CommandAPIVersionHandler here
 			.silentLogs(true)
 			.dispatcherFile(new File(getDataFolder(), "command_registration.json"))
 			.initializeNBTAPI(NBTContainer.class, NBTContainer::new)
-		);
+		));
 	}
 
 	@Override
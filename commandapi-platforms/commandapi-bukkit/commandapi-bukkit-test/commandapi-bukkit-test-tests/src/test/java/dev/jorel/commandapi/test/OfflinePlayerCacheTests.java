@@ -0,0 +1,80 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.OfflinePlayerCache;
+
+/**
+ * Tests for the {@link OfflinePlayerCache}
+ */
+class OfflinePlayerCacheTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testLookupIsCached() {
+		OfflinePlayerCache cache = CommandAPIBukkit.get().getOfflinePlayerCache();
+		UUID id = UUID.randomUUID();
+		AtomicInteger lookups = new AtomicInteger();
+		cache.setProfileSource(name -> {
+			lookups.incrementAndGet();
+			return CompletableFuture.completedFuture(name.equals("Notch") ? id : null);
+		});
+
+		assertEquals(id, cache.lookupId("Notch").join());
+		assertEquals(1, lookups.get());
+
+		// Names are looked up case-insensitively, and aren't looked up again
+		assertEquals(id, cache.lookupId("notch").join());
+		assertEquals(id, cache.getCachedId("NOTCH"));
+		assertEquals(1, lookups.get());
+
+		// Players that don't exist aren't cached
+		assertNull(cache.lookupId("Herobrine").join());
+		assertNull(cache.lookupId("Herobrine").join());
+		assertEquals(3, lookups.get());
+		assertNull(cache.getCachedId("Herobrine"));
+	}
+
+	@Test
+	void testRememberedPlayersAreNotLookedUp() {
+		OfflinePlayerCache cache = CommandAPIBukkit.get().getOfflinePlayerCache();
+		UUID id = UUID.randomUUID();
+		AtomicInteger lookups = new AtomicInteger();
+		cache.setProfileSource(name -> {
+			lookups.incrementAndGet();
+			return CompletableFuture.completedFuture(null);
+		});
+
+		cache.remember("APlayer", id);
+		assertEquals(id, cache.lookupId("aplayer").join());
+		assertEquals(0, lookups.get());
+	}
+
+}
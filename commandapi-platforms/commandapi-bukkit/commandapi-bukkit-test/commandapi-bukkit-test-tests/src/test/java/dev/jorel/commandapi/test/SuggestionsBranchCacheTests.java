@@ -0,0 +1,84 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandMap;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.CommandArgument;
+import dev.jorel.commandapi.arguments.SuggestionsBranch;
+
+/**
+ * Tests for reusing the results of dynamic suggestions in a {@link SuggestionsBranch}
+ */
+class SuggestionsBranchCacheTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		// Long enough that the results never expire while a test runs
+		Main.configModifier = config -> config.suggestionsBranchCacheExpiry(Duration.ofHours(1));
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void suggestionTestWithCommandArgumentReusesPreviousSuggestions() {
+		AtomicInteger playerSuggestions = new AtomicInteger();
+
+		new CommandAPICommand("restrictedcommand")
+			.withArguments(new CommandArgument("command")
+				.replaceSuggestions(
+					ArgumentSuggestions.strings("give"),
+					ArgumentSuggestions.strings(info -> {
+						playerSuggestions.incrementAndGet();
+						return Bukkit.getOnlinePlayers().stream().map(Player::getName).toArray(String[]::new);
+					}),
+					ArgumentSuggestions.strings("diamond", "minecraft:diamond")
+				)
+			).executesPlayer(P_EXEC).register();
+
+		CommandMap commandMap = CommandAPIBukkit.get().getSimpleCommandMap();
+		registerDummyCommands(commandMap, "give");
+
+		PlayerMock player = server.addPlayer("APlayer");
+		PlayerMock otherPlayer = server.addPlayer("BPlayer");
+
+		// /restrictedcommand give APlayer d
+		assertEquals(List.of("diamond"), server.getSuggestions(player, "restrictedcommand give APlayer d"));
+
+		// /restrictedcommand give APlayer m
+		assertEquals(List.of("minecraft:diamond"), server.getSuggestions(player, "restrictedcommand give APlayer m"));
+
+		// The player argument was only validated against the suggestions once
+		assertEquals(1, playerSuggestions.get());
+
+		// Other senders don't reuse the results
+		assertEquals(List.of("diamond"), server.getSuggestions(otherPlayer, "restrictedcommand give APlayer d"));
+		assertEquals(2, playerSuggestions.get());
+	}
+
+}
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -74,6 +75,7 @@ public abstract class TestBase {
 		server = null;
 		plugin = null;
 		MockPlatform.unload();
+		Main.configModifier = UnaryOperator.identity();
 	}
 
 	public static final PlayerCommandExecutor P_EXEC = (player, args) -> {};
@@ -0,0 +1,129 @@
+package dev.jorel.commandapi.test.arguments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.OfflinePlayerCache;
+import dev.jorel.commandapi.arguments.AsyncOfflinePlayerArgument;
+import dev.jorel.commandapi.test.Mut;
+import dev.jorel.commandapi.test.TestBase;
+
+/**
+ * Tests for the {@link AsyncOfflinePlayerArgument}
+ */
+class ArgumentAsyncOfflinePlayerTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void executionTestWithAsyncOfflinePlayerArgument() {
+		Mut<CompletableFuture<OfflinePlayer>> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new AsyncOfflinePlayerArgument("target"))
+			.executesPlayer((player, args) -> {
+				results.set((CompletableFuture<OfflinePlayer>) args.get("target"));
+			})
+			.register();
+
+		OfflinePlayerCache cache = CommandAPIBukkit.get().getOfflinePlayerCache();
+		AtomicInteger lookups = new AtomicInteger();
+		cache.setProfileSource(name -> {
+			lookups.incrementAndGet();
+			return CompletableFuture.completedFuture(null);
+		});
+
+		PlayerMock player = server.addPlayer("APlayer");
+
+		// Online players are found without a lookup
+		server.dispatchCommand(player, "test APlayer");
+		assertEquals(player.getUniqueId(), results.get().join().getUniqueId());
+		assertEquals(0, lookups.get());
+
+		// Cached players are found without a lookup
+		UUID offlineId = UUID.randomUUID();
+		cache.remember("OfflinePlayer", offlineId);
+		server.dispatchCommand(player, "test offlineplayer");
+		assertEquals(offlineId, results.get().join().getUniqueId());
+		assertEquals(0, lookups.get());
+
+		// Players that don't exist fail, and are looked up again next time
+		server.dispatchCommand(player, "test UnknownPlayer");
+		CompletionException exception = assertThrows(CompletionException.class, results.get()::join);
+		assertInstanceOf(CommandSyntaxException.class, exception.getCause());
+		assertEquals("That player does not exist", exception.getCause().getMessage());
+		assertEquals(1, lookups.get());
+
+		server.dispatchCommand(player, "test UnknownPlayer");
+		assertThrows(CompletionException.class, results.get()::join);
+		assertEquals(2, lookups.get());
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void executionTestWithAsyncOfflinePlayerArgumentCompletesOnMainThread() {
+		Mut<CompletableFuture<OfflinePlayer>> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new AsyncOfflinePlayerArgument("target"))
+			.executesPlayer((player, args) -> {
+				results.set((CompletableFuture<OfflinePlayer>) args.get("target"));
+			})
+			.register();
+
+		CompletableFuture<UUID> lookup = new CompletableFuture<>();
+		CommandAPIBukkit.get().getOfflinePlayerCache().setProfileSource(name -> lookup);
+
+		PlayerMock player = server.addPlayer("APlayer");
+		server.dispatchCommand(player, "test SlowPlayer");
+		CompletableFuture<OfflinePlayer> result = results.get();
+
+		// The lookup finishes on another thread, but the player is only created on
+		// the next tick
+		UUID slowId = UUID.randomUUID();
+		CompletableFuture.runAsync(() -> lookup.complete(slowId)).join();
+		assertFalse(result.isDone());
+
+		server.getScheduler().performOneTick();
+		assertEquals(slowId, result.join().getUniqueId());
+
+		assertNoMoreResults(results);
+	}
+
+}
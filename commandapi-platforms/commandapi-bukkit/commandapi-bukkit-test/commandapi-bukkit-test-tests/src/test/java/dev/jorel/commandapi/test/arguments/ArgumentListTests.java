@@ -3,6 +3,7 @@ package dev.jorel.commandapi.test.arguments;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.Material;
 import org.junit.jupiter.api.AfterEach;
@@ -201,6 +202,45 @@ class ArgumentListTests extends TestBase {
 		assertNoMoreResults(results);
 	}
 
+	@Test
+	void executionTestWithListArgumentWithCachedList() {
+		Mut<List<String>> results = Mut.of();
+		AtomicInteger lookups = new AtomicInteger();
+
+		new CommandAPICommand("list")
+			.withArguments(new ListArgumentBuilder<String>("values", ", ")
+				.cacheList(true)
+				.withList(() -> {
+					lookups.incrementAndGet();
+					return List.of("cat", "wolf", "axolotl");
+				})
+				.withStringMapper()
+				.buildGreedy())
+			.executesPlayer((player, args) -> {
+				results.set((List<String>) args.get(0));
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		
+		// /list cat, wolf, axolotl
+		server.dispatchCommand(player, "list cat, wolf, axolotl");
+		assertEquals(List.of("cat", "wolf", "axolotl"), results.get());
+		
+		// /list axolotl, wolf
+		server.dispatchCommand(player, "list axolotl, wolf");
+		assertEquals(List.of("axolotl", "wolf"), results.get());
+
+		// /list cat, wolf, axolotl, wolf
+		// No duplicates allowed
+		assertCommandFailsWith(player, "list cat, wolf, axolotl, wolf", "Duplicate arguments are not allowed at position 20: ... axolotl, <--[HERE]");
+
+		// The list is only retrieved once
+		assertEquals(1, lookups.get());
+		
+		assertNoMoreResults(results);
+	}
+
 	/***************************************
 	 * Test ListArgument with .buildText() *
 	 ***************************************/
@@ -127,6 +127,41 @@ public class ArgumentMapTests extends TestBase {
 		assertEquals(testMap, results.get());
 	}
 
+	@Test
+	public void executionTestWithMapArgumentAndManyPairs() {
+		Mut<LinkedHashMap<String, Integer>> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new MapArgumentBuilder<String, Integer>("map", ':')
+				.withKeyMapper(s -> s)
+				.withValueMapper(Integer::valueOf)
+				.withoutKeyList()
+				.withoutValueList()
+				.build()
+			)
+			.executesPlayer((player, args) -> {
+				results.set((LinkedHashMap<String, Integer>) args.get("map"));
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// /test key0:"0" key1:"1" ... key49:"49"
+		StringBuilder command = new StringBuilder("test");
+		Map<String, Integer> testMap = new LinkedHashMap<>();
+		for (int i = 0; i < 50; i++) {
+			command.append(" key").append(i).append(":\"").append(i).append('"');
+			testMap.put("key" + i, i);
+		}
+		server.dispatchCommand(player, command.toString());
+		assertEquals(testMap, results.get());
+
+		// /test key0:"0" ... key49:"49" key50:"0"
+		assertCommandFailsWith(player, command + " key50:\"0\"", "Could not parse command: Duplicate values are not allowed here at position 539: ...\" key50:\"0<--[HERE]");
+
+		assertNoMoreResults(results);
+	}
+
 	@Test
 	public void exceptionTestWithMapArgument() {
 		// A MapArgument is a GreedyArgument. It is only allowed at the end of the arguments list.
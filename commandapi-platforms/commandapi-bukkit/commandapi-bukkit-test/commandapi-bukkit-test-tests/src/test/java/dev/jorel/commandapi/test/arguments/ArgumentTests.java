@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.bukkit.Location;
@@ -13,9 +14,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 import be.seeseemelk.mockbukkit.WorldMock;
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.CommandTree;
 import dev.jorel.commandapi.arguments.GreedyStringArgument;
@@ -363,6 +366,54 @@ class ArgumentTests extends TestBase {
 		assertNoMoreResults(results);
 	}
 
+	@Test
+	void executionTestWithPlayerArgumentIgnoringCase() {
+		Mut<Player> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new PlayerArgument("target"))
+			.executesPlayer((player, args) -> {
+				results.set((Player) args.get(0));
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer("APlayer");
+		PlayerMock otherPlayer = server.addPlayer("OtherPlayer");
+		server.dispatchCommand(player, "test otherplayer");
+		assertEquals(otherPlayer, results.get());
+
+		server.dispatchCommand(player, "test APLAYER");
+		assertEquals(player, results.get());
+
+		// A player that only the CommandAPI's index knows about can only be found
+		// if the index is used
+		Player indexedPlayer = Mockito.mock(Player.class);
+		Mockito.when(indexedPlayer.getName()).thenReturn("IndexedPlayer");
+		Mockito.when(indexedPlayer.isOnline()).thenReturn(true);
+		CommandAPIBukkit.get().getPlayerNameIndex().add(indexedPlayer);
+		server.dispatchCommand(player, "test indexedplayer");
+		assertEquals(indexedPlayer, results.get());
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void suggestionTestWithPlayerArgumentSuggestingOnlinePlayers() {
+		new CommandAPICommand("test")
+			.withArguments(new PlayerArgument("target").suggestOnlinePlayers(true))
+			.executesPlayer(P_EXEC)
+			.register();
+
+		PlayerMock player = server.addPlayer("APlayer");
+		server.addPlayer("AnotherPlayer");
+		server.addPlayer("BPlayer");
+
+		assertEquals(List.of("AnotherPlayer", "APlayer", "BPlayer"), server.getSuggestions(player, "test "));
+		assertEquals(List.of("AnotherPlayer", "APlayer"), server.getSuggestions(player, "test a"));
+		assertEquals(List.of("AnotherPlayer"), server.getSuggestions(player, "test ANO"));
+		assertEquals(List.of(), server.getSuggestions(player, "test c"));
+	}
+
 	@Test // Pre-#321 
 	void executionTwoCommandsSameArgumentDifferentName() {
 		Mut<String> str1 = Mut.of();
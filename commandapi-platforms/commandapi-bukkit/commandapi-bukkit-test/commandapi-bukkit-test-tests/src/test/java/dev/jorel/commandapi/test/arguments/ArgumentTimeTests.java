@@ -10,7 +10,9 @@ import org.junit.jupiter.api.Test;
 
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.MCVersion;
+import dev.jorel.commandapi.ParseResultCache;
 import dev.jorel.commandapi.arguments.TimeArgument;
 import dev.jorel.commandapi.test.Mut;
 import dev.jorel.commandapi.test.TestBase;
@@ -91,6 +93,47 @@ class ArgumentTimeTests extends TestBase {
 		assertNoMoreResults(results);
 	}
 
+	@Test
+	void executionTestWithCachedTimeArgument() {
+		Mut<Integer> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new TimeArgument("time"))
+			.executesPlayer((player, args) -> {
+				results.set((int) args.get(0));
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		ParseResultCache cache = CommandAPIHandler.getInstance().getParseResultCache();
+		cache.invalidate();
+
+		// /test 2s
+		server.dispatchCommand(player, "test 2s");
+		assertEquals(40, results.get());
+
+		// /test 2s
+		// The second time, the value comes from the cache
+		server.dispatchCommand(player, "test 2s");
+		assertEquals(40, results.get());
+
+		ParseResultCache.Statistics statistics = cache.getStatistics().get(TimeArgument.class);
+		assertEquals(1, statistics.misses());
+		assertEquals(1, statistics.hits());
+
+		// /test 2s
+		// After invalidating, the value is parsed again
+		cache.invalidate();
+		server.dispatchCommand(player, "test 2s");
+		assertEquals(40, results.get());
+
+		statistics = cache.getStatistics().get(TimeArgument.class);
+		assertEquals(1, statistics.misses());
+		assertEquals(0, statistics.hits());
+
+		assertNoMoreResults(results);
+	}
+
 	/********************
 	 * Suggestion tests *
 	 ********************/
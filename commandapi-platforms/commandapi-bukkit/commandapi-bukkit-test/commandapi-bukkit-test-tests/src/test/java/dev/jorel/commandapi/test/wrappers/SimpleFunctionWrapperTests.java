@@ -2,6 +2,7 @@ package dev.jorel.commandapi.test.wrappers;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.List;
 import java.util.Set;
@@ -70,4 +71,21 @@ class SimpleFunctionWrapperTests extends TestBase {
 		assertEquals(keys.stream().collect(Collectors.toSet()), functions);
 	}
 
+	@Test
+	void testSimpleFunctionWrapperIsReused() {
+		NamespacedKey key = NamespacedKey.fromString("ns:myfunc");
+		MockPlatform.getInstance().addFunction(key, List.of("mysay hi"));
+
+		// The same function is only converted once
+		SimpleFunctionWrapper wrapper = SimpleFunctionWrapper.getFunction(key);
+		assertSame(wrapper, SimpleFunctionWrapper.getFunction(key));
+		assertSame(wrapper.getCommands(), SimpleFunctionWrapper.getFunction(key).getCommands());
+
+		// Adding another function forgets the known functions
+		NamespacedKey otherKey = NamespacedKey.fromString("ns:otherfunc");
+		assertEquals(Set.of(key), SimpleFunctionWrapper.getFunctions());
+		MockPlatform.getInstance().addFunction(otherKey, List.of("mysay bye"));
+		assertEquals(Set.of(key, otherKey), SimpleFunctionWrapper.getFunctions());
+	}
+
 }
@@ -32,6 +32,7 @@ import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
 
 public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, CommandSource, CommandSource> {
 	private static CommandAPIVelocity instance;
@@ -221,6 +222,22 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 		// TODO Auto-generated method stub
 	}
 
+	@Override
+	public void resendCommandTree(Predicate<CommandSource> hasChanged) {
+		// Velocity only sends players its commands along with the commands of the
+		// backend server, and has no way to send them again on demand
+		int outdatedPlayers = 0;
+		for (Player player : getConfiguration().getServer().getAllPlayers()) {
+			if (hasChanged.test(player)) {
+				outdatedPlayers++;
+			}
+		}
+		if (outdatedPlayers > 0) {
+			CommandAPI.logWarning("The command tree of %d player(s) has changed, but Velocity can't resend it. They will see the changes when they next connect to a server"
+				.formatted(outdatedPlayers));
+		}
+	}
+
 	@Override
 	public Argument<String> newConcreteMultiLiteralArgument(String[] literals) {
 		return new MultiLiteralArgument(literals);